@@ -0,0 +1,57 @@
+package com.itcenter.benchmark;
+
+import com.itcenter.entity.AppUser;
+import com.itcenter.entity.LoginAudit;
+import com.itcenter.entity.Role;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Representative entities shared by the benchmarks
+ */
+final class BenchmarkFixtures {
+    
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 20, 10, 30);
+    
+    private BenchmarkFixtures() {
+    }
+    
+    /**
+     * A user with two roles and the given number of audit entries, half of them successful logins
+     */
+    static AppUser user(int auditEntries) {
+        AppUser user = new AppUser("3f1c9a52-7d4e-4b8a-9c61-2e5f0a7b8d93", "jane.doe@itcenter.com", "Jane Doe");
+        user.setCreatedAt(BASE_TIME.minusDays(90));
+        user.setUpdatedAt(BASE_TIME.minusDays(1));
+        
+        Role admin = new Role("ADMIN", "Administrator");
+        admin.setRoleId(1L);
+        Role staff = new Role("STAFF", "Staff member");
+        staff.setRoleId(2L);
+        user.addRole(admin);
+        user.addRole(staff);
+        
+        for (LoginAudit audit : audits(user, auditEntries)) {
+            user.getLoginAudits().add(audit);
+        }
+        return user;
+    }
+    
+    static List<LoginAudit> audits(AppUser user, int count) {
+        List<LoginAudit> audits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean login = i % 2 == 0;
+            LoginAudit audit = new LoginAudit(user, login ? LoginAudit.EventType.LOGIN : LoginAudit.EventType.PROFILE_UPDATED,
+                "203.0.113." + (i % 250));
+            audit.setId((long) i + 1);
+            audit.setUserAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0");
+            audit.setSuccess(true);
+            audit.setSessionId("session-" + i);
+            audit.setCreatedAt(BASE_TIME.minusMinutes(i));
+            audits.add(audit);
+        }
+        return audits;
+    }
+}
@@ -0,0 +1,70 @@
+package com.itcenter.benchmark;
+
+import com.itcenter.config.JwtAuthenticationConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping a decoded Cognito access token to an authentication, paid on every request
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JwtAuthenticationConverterBenchmark {
+    
+    private JwtAuthenticationConverter converter;
+    private Jwt groupsToken;
+    private Jwt scopeOnlyToken;
+    
+    @Setup
+    public void setUp() {
+        converter = new JwtAuthenticationConverter();
+        Instant issuedAt = Instant.now();
+        groupsToken = Jwt.withTokenValue("token")
+            .header("alg", "RS256")
+            .header("kid", "benchmark")
+            .subject("3f1c9a52-7d4e-4b8a-9c61-2e5f0a7b8d93")
+            .issuer("https://cognito-idp.ap-southeast-2.amazonaws.com/ap-southeast-2_benchmark")
+            .issuedAt(issuedAt)
+            .expiresAt(issuedAt.plusSeconds(3600))
+            .claim("token_use", "access")
+            .claim("scope", "openid email profile")
+            .claim("cognito:groups", List.of("ADMIN", "STAFF"))
+            .claim("custom:roles", List.of("AUDITOR"))
+            .build();
+        scopeOnlyToken = Jwt.withTokenValue("token")
+            .header("alg", "RS256")
+            .subject("3f1c9a52-7d4e-4b8a-9c61-2e5f0a7b8d93")
+            .issuedAt(issuedAt)
+            .expiresAt(issuedAt.plusSeconds(3600))
+            .claim("scope", "openid email profile")
+            .build();
+    }
+    
+    @Benchmark
+    public AbstractAuthenticationToken convertWithGroups() {
+        return converter.convert(groupsToken);
+    }
+    
+    @Benchmark
+    public AbstractAuthenticationToken convertScopeOnly() {
+        return converter.convert(scopeOnlyToken);
+    }
+}
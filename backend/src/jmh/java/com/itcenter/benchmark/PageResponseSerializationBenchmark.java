@@ -0,0 +1,68 @@
+package com.itcenter.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itcenter.dto.AuditLogDto;
+import com.itcenter.dto.FieldSelection;
+import com.itcenter.dto.PageResponseDto;
+import com.itcenter.entity.AppUser;
+import com.itcenter.entity.LoginAudit;
+import com.itcenter.mapper.UserMapper;
+import com.itcenter.mapper.UserMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cost of serializing an audit log page as returned by GET /admin/audit-log
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PageResponseSerializationBenchmark {
+    
+    @Param({"20", "100"})
+    public int pageSize;
+    
+    private ObjectMapper objectMapper;
+    private PageResponseDto<AuditLogDto> page;
+    
+    @Setup
+    public void setUp() {
+        // Same defaults as the ObjectMapper Spring Boot configures (java.time support, ISO dates, field filters)
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .filters(FieldSelection.defaultFilters())
+            .build();
+        
+        UserMapper userMapper = new UserMapperImpl();
+        AppUser user = BenchmarkFixtures.user(0);
+        List<LoginAudit> audits = BenchmarkFixtures.audits(user, pageSize);
+        List<AuditLogDto> content = audits.stream()
+            .map(userMapper::toAuditLogDto)
+            .collect(Collectors.toList());
+        page = userMapper.toPageResponseDto(new PageImpl<>(audits, PageRequest.of(0, pageSize), 10_000), content);
+    }
+    
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,124 @@
+package com.itcenter.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.itcenter.dto.AuditLogDto;
+import com.itcenter.dto.FieldSelection;
+import com.itcenter.dto.PageResponseDto;
+import com.itcenter.dto.UserManagementDto;
+import com.itcenter.entity.AppUser;
+import com.itcenter.entity.LoginAudit;
+import com.itcenter.mapper.UserMapper;
+import com.itcenter.mapper.UserMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost and payload size of a 20-entry user page and audit log page with and
+ * without a fields= selection.
+ *
+ * Pages are built the way the services build them for each selection, then
+ * written the way MappingJackson2HttpMessageConverter writes a
+ * MappingJacksonValue. The payload size of each page is printed once per fork.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SparseFieldsetBenchmark {
+    
+    private static final int PAGE_SIZE = 20;
+    
+    /**
+     * The selections used by the load test's sparse scenarios, or all fields
+     */
+    @Param({"all", "sparse"})
+    public String selection;
+    
+    private FieldSelection userFields;
+    private FieldSelection auditFields;
+    private ObjectWriter userWriter;
+    private ObjectWriter auditWriter;
+    private PageResponseDto<UserManagementDto> userPage;
+    private PageResponseDto<AuditLogDto> auditPage;
+    
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        boolean sparse = "sparse".equals(selection);
+        userFields = sparse
+            ? FieldSelection.parse("userId,email,displayName", UserManagementDto.FIELDS)
+            : FieldSelection.all();
+        auditFields = sparse
+            ? FieldSelection.parse("id,eventType,success,createdAt", AuditLogDto.FIELDS)
+            : FieldSelection.all();
+        
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .filters(FieldSelection.defaultFilters())
+            .build();
+        userWriter = writer(objectMapper, userFields.apply(null, UserManagementDto.FILTER));
+        auditWriter = writer(objectMapper, auditFields.apply(null, AuditLogDto.FILTER));
+        
+        UserMapper userMapper = new UserMapperImpl();
+        AppUser user = BenchmarkFixtures.user(0);
+        List<AppUser> users = new ArrayList<>(PAGE_SIZE);
+        List<UserManagementDto> userContent = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            users.add(user);
+            UserManagementDto dto = userMapper.toUserManagementDtoWithoutAssociations(user);
+            if (userFields.includes("roles")) {
+                dto.setRoles(userMapper.userRolesToRoleNames(user.getUserRoles()));
+            }
+            if (userFields.includes("lastLoginAt")) {
+                dto.setLastLoginAt(user.getUpdatedAt());
+            }
+            userContent.add(dto);
+        }
+        userPage = userMapper.toPageResponseDto(new PageImpl<>(users, PageRequest.of(0, PAGE_SIZE), 10_000), userContent);
+        
+        List<LoginAudit> audits = BenchmarkFixtures.audits(user, PAGE_SIZE);
+        List<AuditLogDto> auditContent = new ArrayList<>(PAGE_SIZE);
+        for (LoginAudit audit : audits) {
+            auditContent.add(auditFields.includes("userEmail") || auditFields.includes("userDisplayName")
+                ? userMapper.toAuditLogDto(audit)
+                : userMapper.toAuditLogDtoWithoutUser(audit));
+        }
+        auditPage = userMapper.toPageResponseDto(new PageImpl<>(audits, PageRequest.of(0, PAGE_SIZE), 10_000), auditContent);
+        
+        System.out.printf("%nPayload with %s fields: users page %d bytes, audit log page %d bytes%n",
+            selection, serializeUsers().length, serializeAuditLogs().length);
+    }
+    
+    @Benchmark
+    public byte[] serializeUsers() throws JsonProcessingException {
+        return userWriter.writeValueAsBytes(userPage);
+    }
+    
+    @Benchmark
+    public byte[] serializeAuditLogs() throws JsonProcessingException {
+        return auditWriter.writeValueAsBytes(auditPage);
+    }
+    
+    private static ObjectWriter writer(ObjectMapper objectMapper, MappingJacksonValue value) {
+        return value.getFilters() != null ? objectMapper.writer(value.getFilters()) : objectMapper.writer();
+    }
+}
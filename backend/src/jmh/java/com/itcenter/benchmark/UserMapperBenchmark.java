@@ -0,0 +1,86 @@
+package com.itcenter.benchmark;
+
+import com.itcenter.dto.AuditLogDto;
+import com.itcenter.dto.PageResponseDto;
+import com.itcenter.dto.UserManagementDto;
+import com.itcenter.dto.UserProfileDto;
+import com.itcenter.entity.AppUser;
+import com.itcenter.entity.LoginAudit;
+import com.itcenter.mapper.UserMapper;
+import com.itcenter.mapper.UserMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cost of the MapStruct conversions behind the profile, user management and audit endpoints.
+ * 
+ * auditEntries controls the size of the user's login history, which
+ * toUserManagementDto scans to find the last login.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class UserMapperBenchmark {
+    
+    @Param({"0", "20", "500"})
+    public int auditEntries;
+    
+    private UserMapper userMapper;
+    private AppUser user;
+    private LoginAudit audit;
+    private Page<LoginAudit> auditPage;
+    
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapperImpl();
+        user = BenchmarkFixtures.user(auditEntries);
+        List<LoginAudit> audits = BenchmarkFixtures.audits(user, 20);
+        audit = audits.get(0);
+        auditPage = new PageImpl<>(audits, PageRequest.of(0, 20), 1000);
+    }
+    
+    @Benchmark
+    public UserProfileDto toUserProfileDto() {
+        return userMapper.toUserProfileDto(user);
+    }
+    
+    @Benchmark
+    public UserManagementDto toUserManagementDto() {
+        return userMapper.toUserManagementDto(user);
+    }
+    
+    @Benchmark
+    public AuditLogDto toAuditLogDto() {
+        return userMapper.toAuditLogDto(audit);
+    }
+    
+    /**
+     * A full page as built by AuditService: per-entry conversion plus the page wrapper
+     */
+    @Benchmark
+    public PageResponseDto<AuditLogDto> toPageResponseDto() {
+        List<AuditLogDto> content = auditPage.getContent().stream()
+            .map(userMapper::toAuditLogDto)
+            .collect(Collectors.toList());
+        return userMapper.toPageResponseDto(auditPage, content);
+    }
+}
@@ -1,9 +1,13 @@
 package com.itcenter;
 
+import com.itcenter.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main Spring Boot application class for IT Center Staff Authentication API
@@ -12,14 +16,23 @@ import org.springframework.scheduling.annotation.EnableAsync;
  * - JWT-based authentication with AWS Cognito
  * - Role-based access control (RBAC)
  * - User management and audit logging
+ * - Access token revocation
+ * - Startup timeline report
  * - RESTful API with OpenAPI documentation
  */
 @SpringBootApplication
 @EnableJpaAuditing
 @EnableAsync
+@EnableScheduling
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class StaffAuthApiApplication {
 
+    // Enough for every bean of this application, kept for /actuator/startupreport
+    private static final int STARTUP_STEP_CAPACITY = 10000;
+
     public static void main(String[] args) {
-        SpringApplication.run(StaffAuthApiApplication.class, args);
+        SpringApplication application = new SpringApplication(StaffAuthApiApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        application.run(args);
     }
 }
@@ -0,0 +1,260 @@
+package com.itcenter.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servlet filter applying token-bucket rate limits to the public authentication endpoints.
+ *
+ * Requests are limited per client IP and per target email, and rejected with
+ * 429 and Retry-After before any downstream work is done.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AuthRateLimitFilter.class);
+    
+    private static final Set<String> LIMITED_PATHS = Set.of(
+        "/auth/login", "/auth/register", "/auth/verify-mfa", "/auth/forgot-password");
+    
+    private final boolean enabled;
+    private final int maxBodyBytes;
+    private final TokenBucketRateLimiter ipLimiter;
+    private final TokenBucketRateLimiter emailLimiter;
+    private final ObjectMapper objectMapper;
+    
+    private final Counter ipAllowed;
+    private final Counter ipRejected;
+    private final Counter emailAllowed;
+    private final Counter emailRejected;
+    
+    public AuthRateLimitFilter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.security.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.security.rate-limit.max-body-bytes:8192}") int maxBodyBytes,
+            @Value("${app.security.rate-limit.max-keys:100000}") int maxKeys,
+            @Value("${app.security.rate-limit.idle-ttl-seconds:600}") long idleTtlSeconds,
+            @Value("${app.security.rate-limit.ip.capacity:20}") long ipCapacity,
+            @Value("${app.security.rate-limit.ip.refill-per-minute:20}") long ipRefillPerMinute,
+            @Value("${app.security.rate-limit.email.capacity:5}") long emailCapacity,
+            @Value("${app.security.rate-limit.email.refill-per-minute:5}") long emailRefillPerMinute) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxBodyBytes = maxBodyBytes;
+        this.ipLimiter = new TokenBucketRateLimiter(ipCapacity, ipRefillPerMinute, Duration.ofMinutes(1),
+            maxKeys, Duration.ofSeconds(idleTtlSeconds));
+        this.emailLimiter = new TokenBucketRateLimiter(emailCapacity, emailRefillPerMinute, Duration.ofMinutes(1),
+            maxKeys, Duration.ofSeconds(idleTtlSeconds));
+        
+        this.ipAllowed = requestCounter(meterRegistry, "ip", "allowed");
+        this.ipRejected = requestCounter(meterRegistry, "ip", "rejected");
+        this.emailAllowed = requestCounter(meterRegistry, "email", "allowed");
+        this.emailRejected = requestCounter(meterRegistry, "email", "rejected");
+        Gauge.builder("auth.rate_limit.buckets", ipLimiter, TokenBucketRateLimiter::size)
+            .description("Rate limit buckets currently tracked")
+            .tag("key", "ip")
+            .register(meterRegistry);
+        Gauge.builder("auth.rate_limit.buckets", emailLimiter, TokenBucketRateLimiter::size)
+            .description("Rate limit buckets currently tracked")
+            .tag("key", "email")
+            .register(meterRegistry);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+            || !"POST".equals(request.getMethod())
+            || !LIMITED_PATHS.contains(request.getServletPath());
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long waitNanos = ipLimiter.tryAcquire(request.getRemoteAddr());
+        if (waitNanos > 0) {
+            ipRejected.increment();
+            reject(request, response, waitNanos);
+            return;
+        }
+        ipAllowed.increment();
+        
+        HttpServletRequest effectiveRequest = request;
+        if (isJson(request)) {
+            CachedBodyRequest cachedRequest = new CachedBodyRequest(request, maxBodyBytes);
+            effectiveRequest = cachedRequest;
+            
+            String email = extractEmail(cachedRequest);
+            if (email != null) {
+                waitNanos = emailLimiter.tryAcquire(email);
+                if (waitNanos > 0) {
+                    emailRejected.increment();
+                    reject(request, response, waitNanos);
+                    return;
+                }
+                emailAllowed.increment();
+            }
+        }
+        
+        filterChain.doFilter(effectiveRequest, response);
+    }
+    
+    /**
+     * Drop idle buckets so the key space stays bounded between floods
+     */
+    @Scheduled(fixedDelayString = "${app.security.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        ipLimiter.evictIdle();
+        emailLimiter.evictIdle();
+    }
+    
+    private String extractEmail(CachedBodyRequest request) {
+        if (request.isTruncated()) {
+            return null;
+        }
+        try {
+            JsonNode email = objectMapper.readTree(request.getCachedBody()).path("email");
+            return email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            // Malformed bodies are rejected by request validation downstream
+            return null;
+        }
+    }
+    
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        logger.warn("Rate limit exceeded for {} from {}", request.getServletPath(), request.getRemoteAddr());
+        
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", "RATE_LIMIT_EXCEEDED");
+        body.put("message", "Too many requests, please retry later");
+        body.put("timestamp", Instant.now().toString());
+        
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+    
+    private static boolean isJson(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+    
+    private static Counter requestCounter(MeterRegistry meterRegistry, String key, String outcome) {
+        return Counter.builder("auth.rate_limit.requests")
+            .description("Authentication requests checked by the rate limiter")
+            .tag("key", key)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Request wrapper buffering up to a limit of the body so it can be read twice
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        
+        private final byte[] cachedBody;
+        private final boolean truncated;
+        private final InputStream remaining;
+        
+        CachedBodyRequest(HttpServletRequest request, int maxBodyBytes) throws IOException {
+            super(request);
+            InputStream original = request.getInputStream();
+            byte[] prefix = original.readNBytes(maxBodyBytes + 1);
+            this.truncated = prefix.length > maxBodyBytes;
+            this.cachedBody = prefix;
+            this.remaining = original;
+        }
+        
+        byte[] getCachedBody() {
+            return cachedBody;
+        }
+        
+        boolean isTruncated() {
+            return truncated;
+        }
+        
+        @Override
+        public ServletInputStream getInputStream() {
+            InputStream body = truncated
+                ? new SequenceInputStream(new ByteArrayInputStream(cachedBody), remaining)
+                : new ByteArrayInputStream(cachedBody);
+            return new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    return body.read();
+                }
+                
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return body.read(b, off, len);
+                }
+                
+                @Override
+                public boolean isFinished() {
+                    try {
+                        return body.available() == 0;
+                    } catch (IOException e) {
+                        return true;
+                    }
+                }
+                
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+                
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Asynchronous reads are not supported");
+                }
+            };
+        }
+        
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.itcenter.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtDecoder remembering tokens whose signature has already been verified.
+ *
+ * A repeat token skips parsing and signature verification but still goes
+ * through the validators, so expiry and revocation are checked on every
+ * request. Entries expire with the token. The cache is in-process only: a
+ * shared tier would let anyone able to write to it mint accepted tokens.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+    
+    private final JwtDecoder delegate;
+    private final OAuth2TokenValidator<Jwt> validator;
+    private final Cache<String, Jwt> verified;
+    
+    public CachingJwtDecoder(JwtDecoder delegate, OAuth2TokenValidator<Jwt> validator, long maximumSize,
+                             MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.validator = validator;
+        this.verified = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new Expiry<String, Jwt>() {
+                @Override
+                public long expireAfterCreate(String token, Jwt jwt, long currentTime) {
+                    Instant expiresAt = jwt.getExpiresAt();
+                    long millis = expiresAt != null ? expiresAt.toEpochMilli() - System.currentTimeMillis() : 0;
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+                }
+                
+                @Override
+                public long expireAfterUpdate(String token, Jwt jwt, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+                
+                @Override
+                public long expireAfterRead(String token, Jwt jwt, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "verified-tokens");
+    }
+    
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Jwt cached = verified.getIfPresent(token);
+        if (cached == null) {
+            Jwt jwt = delegate.decode(token);
+            verified.put(token, jwt);
+            return jwt;
+        }
+        
+        OAuth2TokenValidatorResult result = validator.validate(cached);
+        if (result.hasErrors()) {
+            verified.invalidate(token);
+            String description = result.getErrors().iterator().next().getDescription();
+            throw new JwtValidationException(description != null ? description : "Invalid token", result.getErrors());
+        }
+        return cached;
+    }
+}
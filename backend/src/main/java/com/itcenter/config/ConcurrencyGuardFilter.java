@@ -0,0 +1,157 @@
+package com.itcenter.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Servlet filter bounding the number of requests in flight.
+ * 
+ * With virtual threads Tomcat no longer caps concurrency at its thread pool,
+ * so this semaphore takes over that role: it keeps the number of requests
+ * competing for database connections and downstream calls proportionate to
+ * the Hikari pool, and sheds the excess with 503 instead of queueing it.
+ * Async and streaming requests hold their permit until the response completes.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(name = "app.concurrency.guard.enabled", havingValue = "true")
+public class ConcurrencyGuardFilter extends OncePerRequestFilter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyGuardFilter.class);
+    
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+    private final ObjectMapper objectMapper;
+    private final Counter rejected;
+    
+    public ConcurrencyGuardFilter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.concurrency.guard.max-concurrent-requests:1000}") int maxConcurrentRequests,
+            @Value("${app.concurrency.guard.acquire-timeout-ms:1000}") long acquireTimeoutMs) {
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        
+        this.rejected = Counter.builder("http.server.requests.shed")
+            .description("Requests rejected because too many were in flight")
+            .register(meterRegistry);
+        Gauge.builder("http.server.requests.in_flight", permits, p -> maxConcurrentRequests - p.availablePermits())
+            .description("Requests currently holding a concurrency permit")
+            .register(meterRegistry);
+        
+        logger.info("Concurrency guard limiting requests in flight to {}", maxConcurrentRequests);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Keep probes answering even when the service is saturated
+        String path = request.getServletPath();
+        return path.equals("/healthz") || path.startsWith("/actuator");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            reject(request, response);
+            return;
+        }
+        
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } finally {
+            if (async) {
+                // Streaming and other async responses keep running after doFilter returns
+                request.getAsyncContext().addListener(new PermitReleasingListener());
+            } else {
+                permits.release();
+            }
+        }
+    }
+    
+    /**
+     * Releases the permit of an async request once, when it completes.
+     * onComplete also follows a timeout or an error.
+     */
+    private final class PermitReleasingListener implements AsyncListener {
+        
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // A new async cycle keeps the same permit; re-register for its completion
+            event.getAsyncContext().addListener(this);
+        }
+        
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+    
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        logger.warn("Shedding request to {}: too many requests in flight", request.getServletPath());
+        
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", "SERVICE_OVERLOADED");
+        body.put("message", "Service is busy, please retry later");
+        body.put("timestamp", Instant.now().toString());
+        
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
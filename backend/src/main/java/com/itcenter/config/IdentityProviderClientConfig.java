@@ -0,0 +1,156 @@
+package com.itcenter.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * HTTP client configuration for calls to the identity provider (Cognito token and JWKS endpoints)
+ * 
+ * Calls go through a pooled, timeout-bounded client. Token endpoint and JWKS
+ * calls are guarded by separate bulkheads and circuit breakers.
+ */
+@Configuration
+public class IdentityProviderClientConfig {
+    
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient identityProviderHttpClient(
+            MeterRegistry meterRegistry,
+            @Value("${app.http.identity-provider.max-connections:50}") int maxConnections,
+            @Value("${app.http.identity-provider.max-connections-per-route:50}") int maxConnectionsPerRoute,
+            @Value("${app.http.identity-provider.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${app.http.identity-provider.connection-request-timeout-ms:1000}") long connectionRequestTimeoutMs,
+            @Value("${app.http.identity-provider.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${app.http.identity-provider.idle-eviction-seconds:30}") long idleEvictionSeconds,
+            @Value("${app.http.identity-provider.connection-ttl-seconds:300}") long connectionTtlSeconds) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxConnectionsPerRoute)
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .setTimeToLive(TimeValue.ofSeconds(connectionTtlSeconds))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build())
+            .build();
+        
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "identity-provider")
+            .bindTo(meterRegistry);
+        
+        return HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                // Bounds the wait for a pooled connection when the pool is exhausted
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMs))
+                .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .build())
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds))
+            .build();
+    }
+    
+    @Bean
+    public CircuitBreakerRegistry identityProviderCircuitBreakerRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${app.resilience.identity-provider.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${app.resilience.identity-provider.slow-call-rate-threshold:50}") float slowCallRateThreshold,
+            @Value("${app.resilience.identity-provider.slow-call-duration-ms:2000}") long slowCallDurationMs,
+            @Value("${app.resilience.identity-provider.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${app.resilience.identity-provider.minimum-calls:10}") int minimumCalls,
+            @Value("${app.resilience.identity-provider.open-state-wait-ms:10000}") long openStateWaitMs,
+            @Value("${app.resilience.identity-provider.half-open-calls:3}") int halfOpenCalls) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .failureRateThreshold(failureRateThreshold)
+            .slowCallRateThreshold(slowCallRateThreshold)
+            .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+            .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+            .slidingWindowSize(slidingWindowSize)
+            .minimumNumberOfCalls(minimumCalls)
+            .waitDurationInOpenState(Duration.ofMillis(openStateWaitMs))
+            .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+            .automaticTransitionFromOpenToHalfOpenEnabled(true)
+            // Rejections by the inner bulkhead say nothing about provider health
+            .ignoreExceptions(BulkheadFullException.class)
+            .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+    
+    @Bean
+    public BulkheadRegistry identityProviderBulkheadRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${app.resilience.identity-provider.max-concurrent-calls:20}") int maxConcurrentCalls,
+            @Value("${app.resilience.identity-provider.max-wait-ms:0}") long maxWaitMs) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(maxConcurrentCalls)
+            .maxWaitDuration(Duration.ofMillis(maxWaitMs))
+            .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+    
+    /**
+     * Client for the token endpoint, behind the "identity-provider" breaker and bulkhead
+     */
+    @Bean
+    public RestTemplate identityProviderRestTemplate(
+            @Qualifier("identityProviderHttpClient") CloseableHttpClient identityProviderHttpClient,
+            CircuitBreakerRegistry identityProviderCircuitBreakerRegistry,
+            BulkheadRegistry identityProviderBulkheadRegistry,
+            MeterRegistry meterRegistry) {
+        return resilientRestTemplate("identity-provider", identityProviderHttpClient,
+            identityProviderCircuitBreakerRegistry, identityProviderBulkheadRegistry, meterRegistry);
+    }
+    
+    /**
+     * Client for the JWKS fetch, with a breaker and bulkhead of its own so that
+     * token endpoint failures cannot block key refresh and with it the
+     * authentication of every API request
+     */
+    @Bean
+    public RestTemplate jwksRestTemplate(
+            @Qualifier("identityProviderHttpClient") CloseableHttpClient identityProviderHttpClient,
+            CircuitBreakerRegistry identityProviderCircuitBreakerRegistry,
+            BulkheadRegistry identityProviderBulkheadRegistry,
+            MeterRegistry meterRegistry) {
+        return resilientRestTemplate("jwks", identityProviderHttpClient,
+            identityProviderCircuitBreakerRegistry, identityProviderBulkheadRegistry, meterRegistry);
+    }
+    
+    private static RestTemplate resilientRestTemplate(String name, CloseableHttpClient httpClient,
+                                                      CircuitBreakerRegistry circuitBreakerRegistry,
+                                                      BulkheadRegistry bulkheadRegistry,
+                                                      MeterRegistry meterRegistry) {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(name);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(name);
+        
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        restTemplate.getInterceptors().add(
+            new IdentityProviderResilienceInterceptor(circuitBreaker, bulkhead, meterRegistry));
+        return restTemplate;
+    }
+}
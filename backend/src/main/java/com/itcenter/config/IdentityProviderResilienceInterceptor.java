@@ -0,0 +1,88 @@
+package com.itcenter.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+
+/**
+ * Wraps every identity provider call in a bulkhead and a circuit breaker.
+ *
+ * Calls are rejected immediately with 503 while the breaker is open or the
+ * bulkhead is saturated, instead of holding request threads for the full timeout.
+ */
+public class IdentityProviderResilienceInterceptor implements ClientHttpRequestInterceptor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(IdentityProviderResilienceInterceptor.class);
+    
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final MeterRegistry meterRegistry;
+    
+    public IdentityProviderResilienceInterceptor(CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                                                 MeterRegistry meterRegistry) {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            ClientHttpResponse response = circuitBreaker.executeCheckedSupplier(() ->
+                bulkhead.executeCheckedSupplier(() -> execute(request, body, execution)));
+            outcome = "success";
+            return response;
+        } catch (CallNotPermittedException e) {
+            outcome = "circuit_open";
+            logger.warn("Identity provider circuit is open, rejecting call to {}", request.getURI().getPath());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Identity provider unavailable", e);
+        } catch (BulkheadFullException e) {
+            outcome = "bulkhead_full";
+            logger.warn("Identity provider bulkhead is full, rejecting call to {}", request.getURI().getPath());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Identity provider busy", e);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IOException("Identity provider call failed", e);
+        } finally {
+            sample.stop(Timer.builder("identity.provider.calls")
+                .description("Calls to the identity provider")
+                .tag("uri", request.getURI().getPath())
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        }
+    }
+    
+    /**
+     * Execute the call, turning 5xx responses into failures the circuit breaker records
+     */
+    private static ClientHttpResponse execute(HttpRequest request, byte[] body,
+                                              ClientHttpRequestExecution execution) throws IOException {
+        ClientHttpResponse response = execution.execute(request, body);
+        HttpStatusCode status = response.getStatusCode();
+        if (status.is5xxServerError()) {
+            String statusText = response.getStatusText();
+            response.close();
+            throw HttpServerErrorException.create(status, statusText, request.getHeaders(), null, null);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,22 @@
+package com.itcenter.config;
+
+import com.itcenter.dto.FieldSelection;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson configuration shared by every response.
+ *
+ * DTOs that support sparse fieldsets carry a @JsonFilter; without a field
+ * selection the default filter writes all of their properties, so streams,
+ * single-entity endpoints and nested DTOs serialize as before.
+ */
+@Configuration
+public class JacksonConfig {
+    
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsetFilters() {
+        return builder -> builder.filters(FieldSelection.defaultFilters());
+    }
+}
@@ -0,0 +1,33 @@
+package com.itcenter.config;
+
+import com.itcenter.service.TokenRevocationService;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+/**
+ * JWT validator rejecting tokens present in the revocation list
+ */
+@Component
+public class JwtRevocationValidator implements OAuth2TokenValidator<Jwt> {
+    
+    private static final OAuth2Error TOKEN_REVOKED = new OAuth2Error(
+        OAuth2ErrorCodes.INVALID_TOKEN, "The token has been revoked", null);
+    
+    private final TokenRevocationService tokenRevocationService;
+    
+    public JwtRevocationValidator(TokenRevocationService tokenRevocationService) {
+        this.tokenRevocationService = tokenRevocationService;
+    }
+    
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt jwt) {
+        if (tokenRevocationService.isRevoked(jwt.getId(), jwt.getSubject(), jwt.getIssuedAt())) {
+            return OAuth2TokenValidatorResult.failure(TOKEN_REVOKED);
+        }
+        return OAuth2TokenValidatorResult.success();
+    }
+}
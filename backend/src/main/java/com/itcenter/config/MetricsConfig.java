@@ -0,0 +1,73 @@
+package com.itcenter.config;
+
+import io.micrometer.cloudwatch2.CloudWatchConfig;
+import io.micrometer.cloudwatch2.CloudWatchMeterRegistry;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.cloudwatch.CloudWatchAsyncClient;
+
+import java.time.Duration;
+
+/**
+ * Metrics configuration: @Timed support for service methods and opt-in
+ * CloudWatch export. Prometheus is always available for local scraping.
+ */
+@Configuration
+public class MetricsConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MetricsConfig.class);
+    
+    /**
+     * Records @Timed methods, tagged with class and method names
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+    
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.metrics.cloudwatch.enabled", havingValue = "true")
+    public CloudWatchAsyncClient cloudWatchAsyncClient(@Value("${aws.region}") String region) {
+        return CloudWatchAsyncClient.builder()
+            .region(Region.of(region))
+            .build();
+    }
+    
+    /**
+     * Publishes to CloudWatch alongside the Prometheus registry. Off by default
+     * because it needs AWS credentials and fails without network access.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.metrics.cloudwatch.enabled", havingValue = "true")
+    public CloudWatchMeterRegistry cloudWatchMeterRegistry(
+            CloudWatchAsyncClient cloudWatchAsyncClient,
+            @Value("${app.metrics.cloudwatch.namespace:ITCenter/StaffAuth}") String namespace,
+            @Value("${app.metrics.cloudwatch.step:PT1M}") Duration step) {
+        CloudWatchConfig config = new CloudWatchConfig() {
+            @Override
+            public String get(String key) {
+                return null;
+            }
+            
+            @Override
+            public String namespace() {
+                return namespace;
+            }
+            
+            @Override
+            public Duration step() {
+                return step;
+            }
+        };
+        logger.info("Exporting metrics to CloudWatch namespace {} every {}", namespace, step);
+        return new CloudWatchMeterRegistry(config, Clock.SYSTEM, cloudWatchAsyncClient);
+    }
+}
@@ -0,0 +1,105 @@
+package com.itcenter.config;
+
+import com.itcenter.dto.AuditLogDto;
+import com.itcenter.dto.BatchUserLookupRequestDto;
+import com.itcenter.dto.BatchUserLookupResponseDto;
+import com.itcenter.dto.DashboardDto;
+import com.itcenter.dto.FailedLoginUserDto;
+import com.itcenter.dto.ForgotPasswordRequestDto;
+import com.itcenter.dto.ForgotPasswordResponseDto;
+import com.itcenter.dto.LoginRequestDto;
+import com.itcenter.dto.LoginResponseDto;
+import com.itcenter.dto.MfaVerificationRequestDto;
+import com.itcenter.dto.MfaVerificationResponseDto;
+import com.itcenter.dto.PageResponseDto;
+import com.itcenter.dto.RegisterRequestDto;
+import com.itcenter.dto.RegisterResponseDto;
+import com.itcenter.dto.RevokeTokenRequestDto;
+import com.itcenter.dto.RoleStatisticsDto;
+import com.itcenter.dto.TokenRevocationResponseDto;
+import com.itcenter.dto.UpdateUserProfileDto;
+import com.itcenter.dto.UpdateUserRolesDto;
+import com.itcenter.dto.UserManagementDto;
+import com.itcenter.dto.UserOverviewDto;
+import com.itcenter.dto.UserProfileDto;
+import com.itcenter.entity.AppUser;
+import com.itcenter.entity.LoginAudit;
+import com.itcenter.entity.Role;
+import com.itcenter.entity.UserRole;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Runtime hints for ahead-of-time processing and native images.
+ * 
+ * Covers what the AOT engine cannot infer from bean definitions: DTOs bound
+ * reflectively by Jackson and springdoc, entities read by Hibernate, the
+ * generated MapStruct mapper, Flyway migration scripts, the JDBC proxies used
+ * for SQL accounting, cache configuration and the resources the AWS SDK
+ * discovers through the class loader.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+    
+    private static final List<Class<?>> DTOS = List.of(
+        AuditLogDto.class, BatchUserLookupRequestDto.class, BatchUserLookupResponseDto.class,
+        DashboardDto.class, FailedLoginUserDto.class, ForgotPasswordRequestDto.class,
+        ForgotPasswordResponseDto.class, LoginRequestDto.class, LoginResponseDto.class,
+        MfaVerificationRequestDto.class, MfaVerificationResponseDto.class, PageResponseDto.class,
+        RegisterRequestDto.class, RegisterResponseDto.class, RevokeTokenRequestDto.class,
+        RoleStatisticsDto.class, TokenRevocationResponseDto.class, UpdateUserProfileDto.class,
+        UpdateUserRolesDto.class, UserManagementDto.class, UserOverviewDto.class,
+        UserProfileDto.class);
+    
+    private static final List<Class<?>> ENTITIES = List.of(
+        AppUser.class, LoginAudit.class, Role.class, UserRole.class);
+    
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> dto : DTOS) {
+            hints.reflection().registerType(dto,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS,
+                MemberCategory.DECLARED_FIELDS);
+        }
+        
+        for (Class<?> entity : ENTITIES) {
+            hints.reflection().registerType(entity,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS,
+                MemberCategory.DECLARED_FIELDS);
+        }
+        
+        // Generated by MapStruct at compile time, so only known by name
+        hints.reflection().registerType(TypeReference.of("com.itcenter.mapper.UserMapperImpl"),
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+            MemberCategory.INVOKE_PUBLIC_METHODS);
+        
+        // StatementCountingDataSource wraps JDBC objects in JDK proxies
+        for (Class<?> jdbcType : List.of(Connection.class, Statement.class, PreparedStatement.class,
+                CallableStatement.class, ResultSet.class)) {
+            hints.proxies().registerJdkProxy(jdbcType);
+        }
+        
+        // Second-level cache regions, and Typesafe Config defaults read by Caffeine's JCache provider
+        hints.resources().registerPattern("hibernate-cache.conf");
+        hints.resources().registerPattern("reference.conf");
+        
+        // Flyway scans spring.flyway.locations on the class path
+        hints.resources().registerPattern("db/migration/*.sql");
+        
+        // AWS SDK v2 loads interceptors and endpoint metadata through the class loader
+        hints.resources().registerPattern("software/amazon/awssdk/global/handlers/execution.interceptors");
+        hints.resources().registerPattern("software/amazon/awssdk/services/*/execution.interceptors");
+        hints.resources().registerPattern("software/amazon/awssdk/global/partitions.json");
+        hints.resources().registerPattern("software/amazon/awssdk/services/*/*.json");
+    }
+}
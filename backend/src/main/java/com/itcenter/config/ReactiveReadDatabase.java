@@ -0,0 +1,97 @@
+package com.itcenter.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Small non-blocking connection pool for the streaming read endpoints.
+ * 
+ * Connects to the same database as the JDBC DataSource. The pool is kept out
+ * of the context as a ConnectionFactory bean on purpose: exposing one would
+ * make Spring Boot back off from auto-configuring the JDBC DataSource.
+ */
+@Component
+public class ReactiveReadDatabase implements DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveReadDatabase.class);
+    
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+    
+    public ReactiveReadDatabase(
+            MeterRegistry meterRegistry,
+            @Value("${app.reactive-read.url:}") String url,
+            @Value("${spring.datasource.url}") String jdbcUrl,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${app.reactive-read.pool.initial-size:2}") int initialSize,
+            @Value("${app.reactive-read.pool.max-size:5}") int maxSize,
+            @Value("${app.reactive-read.pool.max-acquire-ms:2000}") long maxAcquireMs,
+            @Value("${app.reactive-read.pool.max-idle-seconds:300}") long maxIdleSeconds) {
+        String r2dbcUrl = url.isBlank() ? toR2dbcUrl(jdbcUrl) : url;
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(r2dbcUrl).mutate()
+            .option(ConnectionFactoryOptions.USER, username)
+            .option(ConnectionFactoryOptions.PASSWORD, password)
+            .build();
+        
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+            .name("reactive-read")
+            .initialSize(initialSize)
+            .maxSize(maxSize)
+            .maxAcquireTime(Duration.ofMillis(maxAcquireMs))
+            .maxIdleTime(Duration.ofSeconds(maxIdleSeconds))
+            .validationQuery("SELECT 1")
+            .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+        
+        connectionPool.getMetrics().ifPresent(metrics -> {
+            poolGauge(meterRegistry, metrics, "acquired", PoolMetrics::acquiredSize);
+            poolGauge(meterRegistry, metrics, "idle", PoolMetrics::idleSize);
+            poolGauge(meterRegistry, metrics, "pending", PoolMetrics::pendingAcquireSize);
+        });
+        
+        logger.info("Reactive read pool on {} with max size {}", r2dbcUrl, maxSize);
+    }
+    
+    public DatabaseClient getClient() {
+        return databaseClient;
+    }
+    
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+    
+    /**
+     * jdbc:postgresql://host:port/db?params -> r2dbc:postgresql://host:port/db?params
+     */
+    static String toR2dbcUrl(String jdbcUrl) {
+        if (!jdbcUrl.startsWith("jdbc:postgresql:")) {
+            throw new IllegalStateException("Set app.reactive-read.url; cannot derive it from " + jdbcUrl);
+        }
+        return "r2dbc:" + jdbcUrl.substring("jdbc:".length());
+    }
+    
+    private static void poolGauge(MeterRegistry meterRegistry, PoolMetrics metrics, String state,
+                                  ToDoubleFunction<PoolMetrics> value) {
+        Gauge.builder("r2dbc.pool.connections", metrics, value)
+            .description("Connections in the reactive read pool")
+            .tag("pool", "reactive-read")
+            .tag("state", state)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,51 @@
+package com.itcenter.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces the auto-configured DataSource with primary/replica routing when
+ * replicas are enabled. The primary pool is built from spring.datasource.*
+ * exactly as Spring Boot would; Flyway keeps using its own primary connection.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig implements DisposableBean {
+    
+    private HikariDataSource primary;
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 ReplicaPool replicaPool, ReadYourWritesGuard readYourWritesGuard) {
+        primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        
+        return new LazyConnectionDataSourceProxy(
+            new ReadWriteRoutingDataSource(primary, replicaPool, readYourWritesGuard));
+    }
+    
+    /**
+     * The proxy bean has no close method of its own, so shut the primary pool down here
+     */
+    @Override
+    public void destroy() {
+        if (primary != null) {
+            primary.close();
+        }
+    }
+}
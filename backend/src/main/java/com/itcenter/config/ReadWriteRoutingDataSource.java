@@ -0,0 +1,63 @@
+package com.itcenter.config;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ * 
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction's
+ * read-only flag is only visible once the transaction has started, after the
+ * transaction manager asked for its connection.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+    
+    private final DataSource primary;
+    private final ReplicaPool replicaPool;
+    private final ReadYourWritesGuard readYourWritesGuard;
+    
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaPool replicaPool, ReadYourWritesGuard readYourWritesGuard) {
+        this.primary = primary;
+        this.replicaPool = replicaPool;
+        this.readYourWritesGuard = readYourWritesGuard;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (!readYourWritesGuard.requiresPrimary()) {
+                Connection replica = replicaPool.getConnection();
+                if (replica != null) {
+                    return replica;
+                }
+            }
+        } else if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            readYourWritesGuard.onWriteTransaction();
+        }
+        return primary.getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Routing DataSource does not support per-call credentials");
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        // Lets pool metrics and health indicators reach the primary Hikari pool
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return primary.unwrap(iface);
+    }
+    
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+}
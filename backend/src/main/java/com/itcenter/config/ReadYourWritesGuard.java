@@ -0,0 +1,72 @@
+package com.itcenter.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a user's reads on the primary for a short window after they commit a
+ * write, so they never see a replica that has not caught up with their own
+ * change. The window should exceed the replica lag tolerated by ReplicaPool.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReadYourWritesGuard {
+    
+    private final long windowMs;
+    
+    // subject -> epoch millis until which reads go to the primary
+    private final Map<String, Long> recentWriters = new ConcurrentHashMap<>();
+    
+    public ReadYourWritesGuard(@Value("${app.datasource.replicas.read-your-writes-window-ms:10000}") long windowMs) {
+        this.windowMs = windowMs;
+    }
+    
+    /**
+     * Called when a read-write transaction takes a connection; the window
+     * starts once the transaction has committed
+     */
+    public void onWriteTransaction() {
+        String subject = currentSubject();
+        if (subject == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(subject, System.currentTimeMillis() + windowMs);
+            }
+        });
+    }
+    
+    /**
+     * Whether the current user wrote recently enough that replicas may be stale for them
+     */
+    public boolean requiresPrimary() {
+        String subject = currentSubject();
+        if (subject == null) {
+            return false;
+        }
+        Long until = recentWriters.get(subject);
+        return until != null && until > System.currentTimeMillis();
+    }
+    
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.read-your-writes-window-ms:10000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        recentWriters.values().removeIf(until -> until <= now);
+    }
+    
+    private static String currentSubject() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
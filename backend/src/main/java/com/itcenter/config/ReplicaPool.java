@@ -0,0 +1,183 @@
+package com.itcenter.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection pools for the read replicas, with periodic health and lag checks.
+ * 
+ * Connections are handed out round-robin across healthy replicas. A replica
+ * that fails a check, is not streaming WAL from the primary, lags too far
+ * behind or refuses a connection is taken out of rotation until the next
+ * successful check; with none left, callers fall back to the primary.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaPool implements DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaPool.class);
+    
+    // Lag is zero when the replica has replayed everything it received, so an idle primary does not look
+    // like lag. That only holds while WAL is streaming: a replica cut off from the primary has nothing left
+    // to replay, so the receiver status is checked too. It is null without a receiver and hidden from users
+    // without pg_read_all_stats (pg_monitor).
+    private static final String LAG_QUERY =
+        "SELECT pg_is_in_recovery(), (SELECT COALESCE(status, 'hidden') FROM pg_stat_wal_receiver), " +
+        "CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+    
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final double maxLagSeconds;
+    
+    public ReplicaPool(
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.replicas.urls}") String urls,
+            @Value("${app.datasource.replicas.username}") String username,
+            @Value("${app.datasource.replicas.password}") String password,
+            @Value("${app.datasource.replicas.maximum-pool-size:20}") int maximumPoolSize,
+            @Value("${app.datasource.replicas.connection-timeout-ms:2000}") long connectionTimeoutMs,
+            @Value("${app.datasource.replicas.max-lag-seconds:5}") double maxLagSeconds) {
+        this.maxLagSeconds = maxLagSeconds;
+        
+        List<String> replicaUrls = Arrays.stream(urls.split(","))
+            .map(String::trim)
+            .filter(url -> !url.isEmpty())
+            .toList();
+        if (replicaUrls.isEmpty()) {
+            throw new IllegalStateException("app.datasource.replicas.enabled is true but no replica URLs are configured");
+        }
+        
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + (i + 1));
+            dataSource.setJdbcUrl(replicaUrls.get(i));
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+            dataSource.setMaximumPoolSize(maximumPoolSize);
+            dataSource.setConnectionTimeout(connectionTimeoutMs);
+            dataSource.setReadOnly(true);
+            // Do not block startup on a replica that is down; health checks take it out of rotation
+            dataSource.setInitializationFailTimeout(-1);
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            
+            Replica replica = new Replica(dataSource);
+            replicas.add(replica);
+            Gauge.builder("db.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                .description("Whether the replica is in the read rotation")
+                .tag("pool", dataSource.getPoolName())
+                .register(meterRegistry);
+            Gauge.builder("db.replica.lag", replica, r -> r.lagSeconds)
+                .description("Replication lag in seconds at the last health check")
+                .tag("pool", dataSource.getPoolName())
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        }
+        
+        checkHealth();
+        logger.info("Routing read-only transactions to {} replica(s)", replicas.size());
+    }
+    
+    /**
+     * Connection from the next healthy replica, or null when none is available
+     */
+    public Connection getConnection() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.healthy = false;
+                logger.warn("Replica {} refused a connection, removing it from rotation: {}",
+                    replica.dataSource.getPoolName(), e.getMessage());
+            }
+        }
+        return null;
+    }
+    
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-interval-ms:5000}",
+               initialDelayString = "${app.datasource.replicas.health-check-interval-ms:5000}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            String problem;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                replica.lagSeconds = resultSet.getDouble(3);
+                problem = problem(resultSet.getBoolean(1), resultSet.getString(2), replica.lagSeconds);
+            } catch (SQLException e) {
+                problem = "health check failed: " + e.getMessage();
+                logger.debug("Replica health check failed for {}", replica.dataSource.getPoolName(), e);
+            }
+            replica.healthy = problem == null;
+            if (wasHealthy && !replica.healthy) {
+                logger.warn("Replica {} is now out of rotation: {}", replica.dataSource.getPoolName(), problem);
+            } else if (!wasHealthy && replica.healthy) {
+                logger.info("Replica {} is now healthy (lag {}s)", replica.dataSource.getPoolName(), replica.lagSeconds);
+            }
+        }
+    }
+    
+    /**
+     * Why a replica must not serve reads, or null when it may
+     */
+    private String problem(boolean inRecovery, String receiverStatus, double lagSeconds) {
+        if (!inRecovery) {
+            return "not in recovery; it may have been promoted";
+        }
+        if (receiverStatus == null) {
+            return "no WAL receiver is running";
+        }
+        if (receiverStatus.equals("hidden")) {
+            return "WAL receiver status is not visible; grant pg_monitor to the replica user";
+        }
+        if (!receiverStatus.equals("streaming")) {
+            return "WAL receiver is " + receiverStatus + ", not streaming";
+        }
+        if (lagSeconds > maxLagSeconds) {
+            return "lagging " + lagSeconds + "s behind";
+        }
+        return null;
+    }
+    
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+    
+    private static final class Replica {
+        
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy;
+        private volatile double lagSeconds;
+        
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -1,19 +1,34 @@
 package com.itcenter.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtIssuerValidator;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.web.client.RestTemplate;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -26,9 +41,19 @@ import java.util.List;
 public class SecurityConfig {
     
     private final JwtAuthenticationConverter jwtAuthenticationConverter;
+    private final JwtRevocationValidator jwtRevocationValidator;
+    private final List<IpAddressMatcher> prometheusNetworks;
     
-    public SecurityConfig(JwtAuthenticationConverter jwtAuthenticationConverter) {
+    public SecurityConfig(JwtAuthenticationConverter jwtAuthenticationConverter,
+                         JwtRevocationValidator jwtRevocationValidator,
+                         @Value("${app.metrics.prometheus.allowed-networks:127.0.0.1/32}") List<String> prometheusNetworks) {
         this.jwtAuthenticationConverter = jwtAuthenticationConverter;
+        this.jwtRevocationValidator = jwtRevocationValidator;
+        this.prometheusNetworks = prometheusNetworks.stream()
+            .map(String::trim)
+            .filter(network -> !network.isEmpty())
+            .map(IpAddressMatcher::new)
+            .toList();
     }
     
     @Bean
@@ -40,6 +65,10 @@ public class SecurityConfig {
             .authorizeHttpRequests(authz -> authz
                 // Public endpoints
                 .requestMatchers("/healthz", "/actuator/health", "/swagger-ui/**", "/api-docs/**").permitAll()
+                // Startup diagnostics
+                .requestMatchers("/actuator/startupreport").hasRole("ADMIN")
+                // Metrics scraping from trusted networks, otherwise admins only
+                .requestMatchers("/actuator/prometheus").access(prometheusAccess())
                 // Authentication endpoints
                 .requestMatchers("/auth/**").permitAll()
                 // Admin endpoints
@@ -58,6 +87,44 @@ public class SecurityConfig {
         return http.build();
     }
     
+    /**
+     * Allow scrapes from the configured networks without a token
+     */
+    private AuthorizationManager<RequestAuthorizationContext> prometheusAccess() {
+        AuthorizationManager<RequestAuthorizationContext> admin = AuthorityAuthorizationManager.hasRole("ADMIN");
+        return (authentication, context) -> {
+            boolean trusted = prometheusNetworks.stream().anyMatch(network -> network.matches(context.getRequest()));
+            return trusted ? new AuthorizationDecision(true) : admin.check(authentication, context);
+        };
+    }
+    
+    /**
+     * JWT decoder validating expiry, issuer and the token revocation list,
+     * with already verified tokens cached until they expire
+     */
+    @Bean
+    public JwtDecoder jwtDecoder(
+            @Qualifier("jwksRestTemplate") RestTemplate jwksRestTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+            @Value("${app.security.jwt.clock-skew:60}") long clockSkewSeconds,
+            @Value("${app.cache.verified-tokens.maximum-size:10000}") long verifiedTokenCacheSize) {
+        NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withJwkSetUri(jwkSetUri)
+            .restOperations(jwksRestTemplate)
+            .build();
+        OAuth2TokenValidator<Jwt> validator = new DelegatingOAuth2TokenValidator<>(
+            new JwtTimestampValidator(Duration.ofSeconds(clockSkewSeconds)),
+            new JwtIssuerValidator(issuerUri),
+            jwtRevocationValidator
+        );
+        jwtDecoder.setJwtValidator(validator);
+        if (verifiedTokenCacheSize <= 0) {
+            return jwtDecoder;
+        }
+        return new CachingJwtDecoder(jwtDecoder, validator, verifiedTokenCacheSize, meterRegistry);
+    }
+    
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
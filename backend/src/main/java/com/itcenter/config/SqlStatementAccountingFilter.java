@@ -0,0 +1,139 @@
+package com.itcenter.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servlet filter accounting SQL statements, rows and JDBC time per request.
+ * 
+ * Counts are published as metrics tagged by endpoint, optionally returned in
+ * X-Sql-* response headers for local development, and requests exceeding the
+ * statement budget or repeating the same statement (N+1) are logged.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 30)
+@ConditionalOnProperty(name = "app.sql-accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementAccountingFilter extends OncePerRequestFilter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementAccountingFilter.class);
+    
+    static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    static final String ROWS_HEADER = "X-Sql-Rows";
+    static final String JDBC_TIME_HEADER = "X-Sql-Time-Ms";
+    
+    private final MeterRegistry meterRegistry;
+    private final boolean responseHeaders;
+    private final int statementBudget;
+    private final int repeatThreshold;
+    
+    public SqlStatementAccountingFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.sql-accounting.response-headers:false}") boolean responseHeaders,
+            @Value("${app.sql-accounting.statement-budget:10}") int statementBudget,
+            @Value("${app.sql-accounting.repeat-threshold:5}") int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.responseHeaders = responseHeaders;
+        this.statementBudget = statementBudget;
+        this.repeatThreshold = repeatThreshold;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return path.equals("/healthz") || path.startsWith("/actuator");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementTracker.Stats stats = SqlStatementTracker.begin();
+        HttpServletResponse target = responseHeaders ? new HeaderWritingResponse(response, stats) : response;
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            SqlStatementTracker.end();
+            if (responseHeaders && !response.isCommitted()) {
+                writeHeaders(response, stats);
+            }
+            record(request, stats);
+        }
+    }
+    
+    private void record(HttpServletRequest request, SqlStatementTracker.Stats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+        
+        DistributionSummary.builder("http.server.requests.sql.statements")
+            .description("SQL statements executed per request")
+            .tags("method", method, "uri", uri)
+            .serviceLevelObjectives(1, 2, 3, 5, 10, 20, 50)
+            .register(meterRegistry)
+            .record(stats.getStatements());
+        DistributionSummary.builder("http.server.requests.sql.rows")
+            .description("Rows read or written per request")
+            .tags("method", method, "uri", uri)
+            .register(meterRegistry)
+            .record(stats.getRows());
+        Timer.builder("http.server.requests.sql.time")
+            .description("Time spent in JDBC per request")
+            .tags("method", method, "uri", uri)
+            .register(meterRegistry)
+            .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        
+        if (stats.getStatements() > statementBudget) {
+            logger.warn("{} {} executed {} SQL statements (budget {}), {} rows, {} ms in JDBC",
+                method, uri, stats.getStatements(), statementBudget, stats.getRows(),
+                TimeUnit.NANOSECONDS.toMillis(stats.getJdbcNanos()));
+        }
+        Map<String, Integer> repeated = stats.getRepeatedStatements(repeatThreshold);
+        if (!repeated.isEmpty()) {
+            repeated.forEach((sql, count) ->
+                logger.warn("Possible N+1 in {} {}: statement executed {} times: {}", method, uri, count, sql));
+        }
+    }
+    
+    private static void writeHeaders(HttpServletResponse response, SqlStatementTracker.Stats stats) {
+        response.setHeader(STATEMENTS_HEADER, Integer.toString(stats.getStatements()));
+        response.setHeader(ROWS_HEADER, Long.toString(stats.getRows()));
+        response.setHeader(JDBC_TIME_HEADER, Long.toString(TimeUnit.NANOSECONDS.toMillis(stats.getJdbcNanos())));
+    }
+    
+    /**
+     * Adds the headers just before the body starts going out; with
+     * open-in-view disabled no lazy loading can happen after that point
+     */
+    private static final class HeaderWritingResponse extends OnCommittedResponseWrapper {
+        
+        private final SqlStatementTracker.Stats stats;
+        
+        HeaderWritingResponse(HttpServletResponse response, SqlStatementTracker.Stats stats) {
+            super(response);
+            this.stats = stats;
+        }
+        
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders((HttpServletResponse) getResponse(), stats);
+        }
+    }
+}
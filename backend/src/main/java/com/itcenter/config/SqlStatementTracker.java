@@ -0,0 +1,164 @@
+package com.itcenter.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-thread SQL accounting for the unit of work in progress, normally one
+ * HTTP request.
+ * 
+ * StatementCountingDataSource records into the current scope; work outside a
+ * scope is not counted. The assertion methods are meant for tests wrapping a
+ * request or service call in {@link #begin()} / {@link #end()}.
+ */
+public final class SqlStatementTracker {
+    
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+    
+    private SqlStatementTracker() {
+    }
+    
+    /**
+     * Start counting on this thread, discarding any previous scope
+     */
+    public static Stats begin() {
+        Stats stats = new Stats();
+        CURRENT.set(stats);
+        return stats;
+    }
+    
+    /**
+     * Stop counting on this thread and return what was recorded
+     */
+    public static Stats end() {
+        Stats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats != null ? stats : new Stats();
+    }
+    
+    /**
+     * Statistics of the scope in progress, or null when not counting
+     */
+    public static Stats current() {
+        return CURRENT.get();
+    }
+    
+    /**
+     * Fail if the current scope has executed more than the given number of statements
+     */
+    public static void assertMaxStatements(int max) {
+        Stats stats = CURRENT.get();
+        if (stats == null) {
+            throw new IllegalStateException("No SQL statement scope on this thread; call SqlStatementTracker.begin() first");
+        }
+        if (stats.getStatements() > max) {
+            throw new AssertionError("Expected at most " + max + " SQL statements but " + stats.getStatements()
+                + " were executed: " + stats.getStatementsBySql());
+        }
+    }
+    
+    /**
+     * Run an action in its own scope and fail if it executes more than the given number of statements
+     */
+    public static Stats assertMaxStatements(int max, Runnable action) {
+        Stats previous = CURRENT.get();
+        begin();
+        try {
+            action.run();
+            assertMaxStatements(max);
+            return CURRENT.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+    
+    /**
+     * Add statistics gathered in another thread's scope to this thread's, e.g. after joining a fan-out
+     */
+    public static void include(Stats other) {
+        Stats stats = CURRENT.get();
+        if (stats == null || other == null) {
+            return;
+        }
+        stats.statements += other.statements;
+        stats.rows += other.rows;
+        stats.jdbcNanos += other.jdbcNanos;
+        other.statementsBySql.forEach((sql, count) -> stats.statementsBySql.merge(sql, count, Integer::sum));
+    }
+    
+    static void recordStatement(String sql, long nanos) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.jdbcNanos += nanos;
+            if (sql != null) {
+                stats.statementsBySql.merge(sql, 1, Integer::sum);
+            }
+        }
+    }
+    
+    static void recordRows(long rows) {
+        Stats stats = CURRENT.get();
+        if (stats != null && rows > 0) {
+            stats.rows += rows;
+        }
+    }
+    
+    static void recordJdbcTime(long nanos) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.jdbcNanos += nanos;
+        }
+    }
+    
+    /**
+     * Counters for one scope; only ever touched by the owning thread
+     */
+    public static final class Stats {
+        
+        private int statements;
+        private long rows;
+        private long jdbcNanos;
+        private final Map<String, Integer> statementsBySql = new HashMap<>();
+        
+        public int getStatements() {
+            return statements;
+        }
+        
+        /**
+         * Rows read from result sets plus rows reported by updates
+         */
+        public long getRows() {
+            return rows;
+        }
+        
+        /**
+         * Time spent inside JDBC executing statements and fetching rows
+         */
+        public long getJdbcNanos() {
+            return jdbcNanos;
+        }
+        
+        public Map<String, Integer> getStatementsBySql() {
+            return Collections.unmodifiableMap(statementsBySql);
+        }
+        
+        /**
+         * SQL texts executed at least the given number of times, the usual N+1 signature
+         */
+        public Map<String, Integer> getRepeatedStatements(int threshold) {
+            Map<String, Integer> repeated = new HashMap<>();
+            statementsBySql.forEach((sql, count) -> {
+                if (count >= threshold) {
+                    repeated.put(sql, count);
+                }
+            });
+            return repeated;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.itcenter.config;
+
+import org.flywaydb.core.api.output.MigrateResult;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+/**
+ * Startup instrumentation for steps Spring does not record on its own
+ */
+@Configuration
+public class StartupInstrumentationConfig {
+    
+    /**
+     * Record Flyway validation and migration as a step of the startup timeline
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(ApplicationStartup applicationStartup) {
+        return flyway -> {
+            StartupStep step = applicationStartup.start(StartupReportEndpoint.FLYWAY_MIGRATE_STEP);
+            try {
+                MigrateResult result = flyway.migrate();
+                step.tag("migrationsExecuted", Integer.toString(result.migrationsExecuted));
+            } finally {
+                step.end();
+            }
+        };
+    }
+}
@@ -0,0 +1,163 @@
+package com.itcenter.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Actuator endpoint summarising where startup time went.
+ * 
+ * Reads the buffered startup timeline without draining it and reports the
+ * slowest steps and bean initializations together with the phases we care
+ * about: Flyway migration, Hibernate schema validation and springdoc. On
+ * startup the total is checked against app.startup.budget-ms.
+ *
+ * The ready time counts from JVM start, or from SpringApplication.run when
+ * app.startup.measured-from is "application": in a test JVM, earlier test
+ * classes would otherwise be charged to the context under test.
+ */
+@Component
+@Endpoint(id = "startupreport")
+public class StartupReportEndpoint {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StartupReportEndpoint.class);
+    
+    static final String FLYWAY_MIGRATE_STEP = "itcenter.flyway.migrate";
+    private static final String BEAN_INSTANTIATE_STEP = "spring.beans.instantiate";
+    
+    private final ApplicationStartup applicationStartup;
+    private final long budgetMs;
+    private final boolean failOnBudgetExceeded;
+    private final boolean measuredFromJvmStart;
+    private final int topN;
+    private volatile Duration readyTime;
+    
+    public StartupReportEndpoint(
+            ApplicationStartup applicationStartup,
+            @Value("${app.startup.budget-ms:30000}") long budgetMs,
+            @Value("${app.startup.fail-on-budget-exceeded:false}") boolean failOnBudgetExceeded,
+            @Value("${app.startup.measured-from:jvm}") String measuredFrom,
+            @Value("${app.startup.report-size:15}") int topN) {
+        this.applicationStartup = applicationStartup;
+        this.budgetMs = budgetMs;
+        this.failOnBudgetExceeded = failOnBudgetExceeded;
+        this.measuredFromJvmStart = !"application".equalsIgnoreCase(measuredFrom);
+        this.topN = topN;
+    }
+    
+    @EventListener
+    public void checkBudget(ApplicationReadyEvent event) {
+        // From JVM start by default so class loading before Spring is included
+        readyTime = measuredFromJvmStart || event.getTimeTaken() == null
+            ? Duration.ofMillis(ManagementFactory.getRuntimeMXBean().getUptime())
+            : event.getTimeTaken();
+        if (readyTime.toMillis() <= budgetMs) {
+            logger.info("Started in {}ms (budget {}ms)", readyTime.toMillis(), budgetMs);
+            return;
+        }
+        
+        logger.warn("Startup took {}ms, over the {}ms budget; slowest beans: {}",
+            readyTime.toMillis(), budgetMs, slowestBeans(timeline(), 5));
+        if (failOnBudgetExceeded) {
+            throw new IllegalStateException("Startup took " + readyTime.toMillis()
+                + "ms, over the " + budgetMs + "ms budget");
+        }
+    }
+    
+    @ReadOperation
+    public Map<String, Object> report() {
+        StartupTimeline timeline = timeline();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("readyTimeMs", readyTime != null ? readyTime.toMillis() : null);
+        report.put("budgetMs", budgetMs);
+        if (timeline == null) {
+            report.put("message", "Startup timeline not recorded; BufferingApplicationStartup is not active");
+            return report;
+        }
+        
+        List<StartupTimeline.TimelineEvent> events = timeline.getEvents();
+        Map<String, Object> phases = new LinkedHashMap<>();
+        phases.put("flywayMigrationMs", sumMillis(events, event -> FLYWAY_MIGRATE_STEP.equals(event.getStartupStep().getName())));
+        phases.put("hibernateBootstrapMs", sumMillis(events, event -> "entityManagerFactory".equals(beanName(event))));
+        phases.put("springdocMs", sumMillis(events, event -> {
+            String beanName = beanName(event);
+            return beanName != null && beanName.toLowerCase(Locale.ROOT).contains("springdoc");
+        }));
+        phases.put("contextRefreshMs", sumMillis(events, event -> "spring.context.refresh".equals(event.getStartupStep().getName())));
+        
+        report.put("phases", phases);
+        report.put("slowestBeans", slowestBeans(timeline, topN));
+        report.put("slowestSteps", events.stream()
+            .filter(event -> !BEAN_INSTANTIATE_STEP.equals(event.getStartupStep().getName()))
+            .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+            .limit(topN)
+            .map(StartupReportEndpoint::describe)
+            .collect(Collectors.toList()));
+        report.put("recordedSteps", events.size());
+        return report;
+    }
+    
+    private StartupTimeline timeline() {
+        return applicationStartup instanceof BufferingApplicationStartup buffering
+            ? buffering.getBufferedTimeline() : null;
+    }
+    
+    private static List<Map<String, Object>> slowestBeans(StartupTimeline timeline, int limit) {
+        if (timeline == null) {
+            return List.of();
+        }
+        // Durations include the initialization of dependencies created on demand
+        return timeline.getEvents().stream()
+            .filter(event -> BEAN_INSTANTIATE_STEP.equals(event.getStartupStep().getName()))
+            .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+            .limit(limit)
+            .map(StartupReportEndpoint::describe)
+            .collect(Collectors.toList());
+    }
+    
+    private static Map<String, Object> describe(StartupTimeline.TimelineEvent event) {
+        Map<String, Object> step = new LinkedHashMap<>();
+        step.put("name", event.getStartupStep().getName());
+        for (StartupStep.Tag tag : event.getStartupStep().getTags()) {
+            step.put(tag.getKey(), tag.getValue());
+        }
+        step.put("durationMs", event.getDuration().toMillis());
+        return step;
+    }
+    
+    private static long sumMillis(List<StartupTimeline.TimelineEvent> events,
+                                  Predicate<StartupTimeline.TimelineEvent> filter) {
+        return events.stream().filter(filter).mapToLong(event -> event.getDuration().toMillis()).sum();
+    }
+    
+    private static String beanName(StartupTimeline.TimelineEvent event) {
+        if (!BEAN_INSTANTIATE_STEP.equals(event.getStartupStep().getName())) {
+            return null;
+        }
+        for (StartupStep.Tag tag : event.getStartupStep().getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,132 @@
+package com.itcenter.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * DataSource wrapper feeding SqlStatementTracker: every execute call counts
+ * as one statement, rows are counted as result sets are read, and the time
+ * spent in execute and next calls is summed as JDBC time.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+    
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+    
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+    
+    private static Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (STATEMENT_FACTORIES.contains(method.getName()) && result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return wrapStatement(statement, sql);
+            }
+            return result;
+        });
+    }
+    
+    private static Statement wrapStatement(Statement statement, String preparedSql) {
+        Class<? extends Statement> type = statement instanceof CallableStatement ? CallableStatement.class
+            : statement instanceof PreparedStatement ? PreparedStatement.class
+            : Statement.class;
+        
+        return proxy(type, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                long start = System.nanoTime();
+                Object result = invoke(statement, method, args);
+                SqlStatementTracker.recordStatement(sql, System.nanoTime() - start);
+                return countRows(result);
+            }
+            if (name.equals("getResultSet")) {
+                Object result = invoke(statement, method, args);
+                return result instanceof ResultSet resultSet ? wrapResultSet(resultSet) : result;
+            }
+            return invoke(statement, method, args);
+        });
+    }
+    
+    private static Object countRows(Object result) {
+        if (result instanceof ResultSet resultSet) {
+            return wrapResultSet(resultSet);
+        }
+        if (result instanceof Integer updated) {
+            SqlStatementTracker.recordRows(updated);
+        } else if (result instanceof Long updated) {
+            SqlStatementTracker.recordRows(updated);
+        } else if (result instanceof int[] batch) {
+            for (int updated : batch) {
+                SqlStatementTracker.recordRows(updated);
+            }
+        } else if (result instanceof long[] batch) {
+            for (long updated : batch) {
+                SqlStatementTracker.recordRows(updated);
+            }
+        }
+        return result;
+    }
+    
+    private static ResultSet wrapResultSet(ResultSet resultSet) {
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            if (!method.getName().equals("next")) {
+                return invoke(resultSet, method, args);
+            }
+            // Rows arrive in fetch-size batches, so next() is where the remaining I/O happens
+            long start = System.nanoTime();
+            Object hasRow = invoke(resultSet, method, args);
+            SqlStatementTracker.recordJdbcTime(System.nanoTime() - start);
+            if (Boolean.TRUE.equals(hasRow)) {
+                SqlStatementTracker.recordRows(1);
+            }
+            return hasRow;
+        });
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(), new Class<?>[] {type},
+            (proxy, method, args) -> {
+                // Keep identity semantics of the wrapper itself
+                if (method.getName().equals("equals") && args != null && args.length == 1) {
+                    return proxy == args[0];
+                }
+                if (method.getName().equals("hashCode") && (args == null || args.length == 0)) {
+                    return System.identityHashCode(proxy);
+                }
+                return handler.invoke(proxy, method, args);
+            });
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
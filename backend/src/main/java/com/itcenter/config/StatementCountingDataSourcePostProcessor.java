@@ -0,0 +1,23 @@
+package com.itcenter.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps every JDBC DataSource bean so statements can be attributed to requests
+ */
+@Component
+@ConditionalOnProperty(name = "app.sql-accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class StatementCountingDataSourcePostProcessor implements BeanPostProcessor {
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+            return new StatementCountingDataSource(dataSource);
+        }
+        return bean;
+    }
+}
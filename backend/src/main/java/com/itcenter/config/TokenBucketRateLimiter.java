@@ -0,0 +1,164 @@
+package com.itcenter.config;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped token-bucket rate limiter with a bounded, expiring key space.
+ *
+ * Keys are spread over a fixed number of lock stripes; each stripe owns an
+ * access-ordered map of buckets capped at its share of the maximum key count.
+ * When a stripe is full, only a bucket that has refilled completely is dropped
+ * for a new key, since forgetting it changes nothing. Buckets that are still
+ * draining are never dropped, so flooding the key space cannot reset the limit
+ * of a key under attack; new keys wait until some bucket has refilled instead.
+ * Only the few least recently used buckets are probed, so a flood of new keys
+ * costs constant time under the stripe lock.
+ */
+public class TokenBucketRateLimiter {
+    
+    private static final int STRIPES = 64;
+    
+    // Buckets checked for a full one before a new key is turned away
+    private static final int EVICTION_PROBES = 8;
+    
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final double capacity;
+    private final double tokensPerNano;
+    private final long idleTtlNanos;
+    private final int maxKeysPerStripe;
+    
+    public TokenBucketRateLimiter(long capacity, long refillTokens, Duration refillPeriod,
+                                  int maxKeys, Duration idleTtl) {
+        // evictIdle drops idle buckets as if they were full, which holds only once they had time to refill
+        Duration refillTime = refillPeriod.multipliedBy(capacity).dividedBy(refillTokens);
+        if (idleTtl.compareTo(refillTime) < 0) {
+            throw new IllegalArgumentException("Idle TTL " + idleTtl + " is shorter than the " + refillTime
+                + " an empty bucket takes to refill");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = (double) refillTokens / refillPeriod.toNanos();
+        this.idleTtlNanos = idleTtl.toNanos();
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+    
+    /**
+     * Try to take a token for the key
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until one becomes available
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        Stripe stripe = stripeFor(key);
+        stripe.lock();
+        try {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                if (stripe.buckets.size() >= maxKeysPerStripe) {
+                    long wait = evictFullBucket(stripe, now);
+                    if (wait > 0) {
+                        return wait;
+                    }
+                }
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            } else {
+                bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.lastRefillNanos) * tokensPerNano);
+                bucket.lastRefillNanos = now;
+            }
+            
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / tokensPerNano);
+        } finally {
+            stripe.unlock();
+        }
+    }
+    
+    /**
+     * Drop one of the least recently used buckets if it has refilled completely.
+     * Must be called while holding the stripe lock.
+     *
+     * @return 0 if a bucket was dropped, otherwise the nanoseconds until one will be full
+     */
+    private long evictFullBucket(Stripe stripe, long now) {
+        long wait = Long.MAX_VALUE;
+        Iterator<Bucket> iterator = stripe.buckets.values().iterator();
+        for (int probe = 0; probe < EVICTION_PROBES && iterator.hasNext(); probe++) {
+            Bucket bucket = iterator.next();
+            double missing = capacity - bucket.tokens - (now - bucket.lastRefillNanos) * tokensPerNano;
+            if (missing <= 0) {
+                iterator.remove();
+                return 0;
+            }
+            wait = Math.min(wait, (long) Math.ceil(missing / tokensPerNano));
+        }
+        return Math.max(1, wait);
+    }
+    
+    /**
+     * Drop buckets that have been idle longer than the TTL; they would be full anyway
+     */
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (Stripe stripe : stripes) {
+            stripe.lock();
+            try {
+                Iterator<Bucket> iterator = stripe.buckets.values().iterator();
+                while (iterator.hasNext()) {
+                    if (now - iterator.next().lastRefillNanos < idleTtlNanos) {
+                        // Access order: every following bucket is more recent
+                        break;
+                    }
+                    iterator.remove();
+                }
+            } finally {
+                stripe.unlock();
+            }
+        }
+    }
+    
+    /**
+     * Number of keys currently tracked
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock();
+            try {
+                size += stripe.buckets.size();
+            } finally {
+                stripe.unlock();
+            }
+        }
+        return size;
+    }
+    
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return stripes[hash & (STRIPES - 1)];
+    }
+    
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefillNanos;
+        
+        private Bucket(double tokens, long lastRefillNanos) {
+            this.tokens = tokens;
+            this.lastRefillNanos = lastRefillNanos;
+        }
+    }
+    
+    private static final class Stripe extends ReentrantLock {
+        private final Map<String, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true);
+    }
+}
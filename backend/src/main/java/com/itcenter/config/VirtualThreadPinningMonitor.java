@@ -0,0 +1,104 @@
+package com.itcenter.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reports virtual threads pinned to their carrier thread.
+ * 
+ * Streams the JFR jdk.VirtualThreadPinned event, which fires when a virtual
+ * thread blocks while it cannot unmount (inside synchronized code or a native
+ * frame), and logs the blocking stack. Pinning durations are exported as the
+ * jvm.threads.virtual.pinned timer.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+    
+    private final Duration threshold;
+    private final Timer pinnedTimer;
+    private RecordingStream recordingStream;
+    
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${app.virtual-threads.pinning.threshold-ms:20}") long thresholdMs) {
+        this.threshold = Duration.ofMillis(thresholdMs);
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+            .description("Time virtual threads spent blocked while pinned to a carrier thread")
+            .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        try {
+            recordingStream = new RecordingStream();
+            recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+            recordingStream.startAsync();
+            logger.info("Monitoring virtual thread pinning longer than {}ms", threshold.toMillis());
+        } catch (RuntimeException e) {
+            // JFR can be unavailable (e.g. disabled in the JVM); pinning is then simply not reported
+            logger.warn("Unable to start virtual thread pinning monitor", e);
+            recordingStream = null;
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+    
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+        
+        RecordedThread thread = event.getThread();
+        logger.warn("Virtual thread {} pinned its carrier for {}ms at:{}",
+            thread != null ? thread.getJavaName() : "unknown",
+            event.getDuration().toMillis(),
+            formatStack(event.getStackTrace()));
+    }
+    
+    private static String formatStack(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return " <no stack trace>";
+        }
+        StringBuilder stack = new StringBuilder();
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (int i = 0; i < Math.min(frames.size(), LOGGED_FRAMES); i++) {
+            RecordedFrame frame = frames.get(i);
+            stack.append(System.lineSeparator())
+                .append("\tat ")
+                .append(frame.getMethod().getType().getName())
+                .append('.')
+                .append(frame.getMethod().getName())
+                .append(':')
+                .append(frame.getLineNumber());
+        }
+        if (frames.size() > LOGGED_FRAMES) {
+            stack.append(System.lineSeparator()).append("\t...");
+        }
+        return stack.toString();
+    }
+}
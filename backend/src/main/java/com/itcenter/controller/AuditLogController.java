@@ -1,8 +1,10 @@
 package com.itcenter.controller;
 
 import com.itcenter.dto.AuditLogDto;
+import com.itcenter.dto.FieldSelection;
 import com.itcenter.dto.PageResponseDto;
 import com.itcenter.service.AuditService;
+import com.itcenter.service.ReactiveReadService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,9 +17,14 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -33,9 +40,11 @@ import java.util.List;
 public class AuditLogController {
     
     private final AuditService auditService;
+    private final ReactiveReadService reactiveReadService;
     
-    public AuditLogController(AuditService auditService) {
+    public AuditLogController(AuditService auditService, ReactiveReadService reactiveReadService) {
         this.auditService = auditService;
+        this.reactiveReadService = reactiveReadService;
     }
     
     @GetMapping
@@ -44,10 +53,12 @@ public class AuditLogController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Audit logs retrieved successfully",
                     content = @Content(schema = @Schema(implementation = PageResponseDto.class))),
+        @ApiResponse(responseCode = "304", description = "Historic page unchanged since the If-None-Match ETag"),
+        @ApiResponse(responseCode = "400", description = "Unknown field requested"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
     })
-    public ResponseEntity<PageResponseDto<AuditLogDto>> getAuditLogs(
+    public ResponseEntity<MappingJacksonValue> getAuditLogs(
             @Parameter(description = "Filter by user ID") 
             @RequestParam(required = false) String user_id,
             @Parameter(description = "Filter by event type") 
@@ -59,14 +70,52 @@ public class AuditLogController {
             @Parameter(description = "Page number (0-based)") 
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") 
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Comma separated audit log fields to return, e.g. id,eventType,createdAt; all fields if omitted") 
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
         
+        FieldSelection selection = FieldSelection.parse(fields, AuditLogDto.FIELDS);
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         
+        // Only pages of a closed date range carry an ETag
+        String eTag = auditService.getAuditLogsETag(user_id, event_type, start_date, end_date, pageable, selection);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return null;
+        }
+        
         PageResponseDto<AuditLogDto> result = auditService.getAuditLogs(
-            user_id, event_type, start_date, end_date, pageable);
+            user_id, event_type, start_date, end_date, pageable, selection);
+        MappingJacksonValue body = selection.apply(result, AuditLogDto.FILTER);
         
-        return ResponseEntity.ok(result);
+        if (eTag == null) {
+            return ResponseEntity.ok(body);
+        }
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .body(body);
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream audit logs", 
+               description = "Stream audit logs newest first as newline-delimited JSON, without holding a request thread")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Audit logs streamed successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    public Flux<AuditLogDto> streamAuditLogs(
+            @Parameter(description = "Filter by user ID") 
+            @RequestParam(required = false) String user_id,
+            @Parameter(description = "Filter by event type") 
+            @RequestParam(required = false) String event_type,
+            @Parameter(description = "Start date for range filter") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start_date,
+            @Parameter(description = "End date for range filter") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end_date,
+            @Parameter(description = "Maximum number of entries to stream") 
+            @RequestParam(defaultValue = "1000") int limit) {
+        return reactiveReadService.streamAuditLogs(user_id, event_type, start_date, end_date, limit);
     }
     
     @GetMapping("/user/{userId}")
@@ -75,22 +124,26 @@ public class AuditLogController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "User audit logs retrieved successfully",
                     content = @Content(schema = @Schema(implementation = PageResponseDto.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown field requested"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required"),
         @ApiResponse(responseCode = "404", description = "User not found")
     })
-    public ResponseEntity<PageResponseDto<AuditLogDto>> getUserAuditLogs(
+    public ResponseEntity<MappingJacksonValue> getUserAuditLogs(
             @Parameter(description = "User ID") 
             @PathVariable String userId,
             @Parameter(description = "Page number (0-based)") 
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") 
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Comma separated audit log fields to return; all fields if omitted") 
+            @RequestParam(required = false) String fields) {
         
+        FieldSelection selection = FieldSelection.parse(fields, AuditLogDto.FIELDS);
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         
-        PageResponseDto<AuditLogDto> result = auditService.getUserAuditLogs(userId, pageable);
-        return ResponseEntity.ok(result);
+        PageResponseDto<AuditLogDto> result = auditService.getUserAuditLogs(userId, pageable, selection);
+        return ResponseEntity.ok(selection.apply(result, AuditLogDto.FILTER));
     }
     
     @GetMapping("/recent/{userId}")
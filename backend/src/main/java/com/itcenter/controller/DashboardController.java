@@ -0,0 +1,44 @@
+package com.itcenter.controller;
+
+import com.itcenter.dto.DashboardDto;
+import com.itcenter.service.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the admin dashboard summary
+ */
+@RestController
+@RequestMapping("/admin/dashboard")
+@Tag(name = "Statistics", description = "Admin dashboard statistics endpoints")
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("hasRole('ADMIN')")
+public class DashboardController {
+    
+    private final DashboardService dashboardService;
+    
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+    
+    @GetMapping
+    @Operation(summary = "Get dashboard summary", 
+               description = "Users, users per role, recent logins and failures, and the users with most failures, served from memory")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Summary retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = DashboardDto.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    public ResponseEntity<DashboardDto> getDashboard() {
+        return ResponseEntity.ok(dashboardService.getDashboard());
+    }
+}
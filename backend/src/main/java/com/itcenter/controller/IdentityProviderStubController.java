@@ -0,0 +1,75 @@
+package com.itcenter.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for the Cognito token endpoint with injectable latency and errors.
+ * 
+ * Only active under the "idp-stub" profile, which also points aws.cognito.token-endpoint here.
+ */
+@RestController
+@RequestMapping("/auth/stub")
+@Profile("idp-stub")
+@Tag(name = "Identity Provider Stub", description = "Fault-injecting identity provider stub for local testing")
+public class IdentityProviderStubController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(IdentityProviderStubController.class);
+    
+    private volatile long latencyMs;
+    private volatile double errorRate;
+    
+    public IdentityProviderStubController(
+            @Value("${app.idp-stub.latency-ms:0}") long latencyMs,
+            @Value("${app.idp-stub.error-rate:0.0}") double errorRate) {
+        this.latencyMs = latencyMs;
+        this.errorRate = errorRate;
+    }
+    
+    @PostMapping(value = "/oauth2/token", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    @Operation(summary = "Stub token exchange", description = "Simulate the Cognito token endpoint")
+    public ResponseEntity<Map<String, Object>> token(@RequestParam Map<String, String> form) throws InterruptedException {
+        if (latencyMs > 0) {
+            Thread.sleep(latencyMs);
+        }
+        if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("error", "injected_failure"));
+        }
+        
+        Map<String, Object> tokens = Map.of(
+            "access_token", "stub-access-" + UUID.randomUUID(),
+            "id_token", "stub-id-" + UUID.randomUUID(),
+            "refresh_token", "stub-refresh-" + UUID.randomUUID(),
+            "token_type", "Bearer",
+            "expires_in", 3600
+        );
+        return ResponseEntity.ok(tokens);
+    }
+    
+    @PostMapping("/faults")
+    @Operation(summary = "Configure injected faults", description = "Change the injected latency and error rate")
+    public ResponseEntity<Map<String, Object>> configureFaults(
+            @Parameter(description = "Added latency in milliseconds") 
+            @RequestParam(defaultValue = "0") long latencyMs,
+            @Parameter(description = "Fraction of calls failing with 503") 
+            @RequestParam(defaultValue = "0.0") double errorRate) {
+        this.latencyMs = latencyMs;
+        this.errorRate = errorRate;
+        logger.info("Identity provider stub faults set to latency: {}ms, error rate: {}", latencyMs, errorRate);
+        return ResponseEntity.ok(Map.of("latencyMs", latencyMs, "errorRate", errorRate));
+    }
+}
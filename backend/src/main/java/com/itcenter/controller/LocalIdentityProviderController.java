@@ -0,0 +1,52 @@
+package com.itcenter.controller;
+
+import com.itcenter.dto.LoginRequestDto;
+import com.itcenter.service.LocalIdentityProvider;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Endpoints of the in-process identity provider: the JWKS used to verify its
+ * tokens, a hosted-UI substitute that issues authorization codes, and the
+ * matching token endpoint.
+ */
+@RestController
+@RequestMapping("/auth/local")
+@ConditionalOnProperty(name = "app.identity-provider.type", havingValue = "local")
+@Tag(name = "Local Identity Provider", description = "In-process identity provider for local and load testing")
+public class LocalIdentityProviderController {
+    
+    private final LocalIdentityProvider localIdentityProvider;
+    
+    public LocalIdentityProviderController(LocalIdentityProvider localIdentityProvider) {
+        this.localIdentityProvider = localIdentityProvider;
+    }
+    
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(summary = "Signing keys", description = "Public keys used to sign local access tokens")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok(localIdentityProvider.getJwkSet());
+    }
+    
+    @PostMapping("/authorize")
+    @Operation(summary = "Issue authorization code", description = "Authenticate and return a one-time code for the token endpoint")
+    public ResponseEntity<Map<String, String>> authorize(@Valid @RequestBody LoginRequestDto request) {
+        String code = localIdentityProvider.issueAuthorizationCode(request.getEmail(), request.getPassword());
+        return ResponseEntity.ok(Map.of("code", code));
+    }
+    
+    @PostMapping(value = "/oauth2/token", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    @Operation(summary = "Token exchange", description = "Exchange an authorization code for tokens, like the Cognito token endpoint")
+    public ResponseEntity<Map<String, Object>> token(
+            @RequestParam("code") String code,
+            @RequestParam(value = "redirect_uri", required = false) String redirectUri) {
+        return ResponseEntity.ok(localIdentityProvider.exchangeAuthorizationCode(code, redirectUri));
+    }
+}
@@ -0,0 +1,44 @@
+package com.itcenter.controller;
+
+import com.itcenter.dto.RoleStatisticsDto;
+import com.itcenter.service.RoleStatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for admin dashboard statistics
+ */
+@RestController
+@RequestMapping("/admin/stats")
+@Tag(name = "Statistics", description = "Admin dashboard statistics endpoints")
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("hasRole('ADMIN')")
+public class StatisticsController {
+    
+    private final RoleStatisticsService roleStatisticsService;
+    
+    public StatisticsController(RoleStatisticsService roleStatisticsService) {
+        this.roleStatisticsService = roleStatisticsService;
+    }
+    
+    @GetMapping("/roles")
+    @Operation(summary = "Get users per role", 
+               description = "Number of users holding each role, kept in memory and reconciled with the database periodically")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = RoleStatisticsDto.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    public ResponseEntity<RoleStatisticsDto> getRoleStatistics() {
+        return ResponseEntity.ok(roleStatisticsService.getRoleStatistics());
+    }
+}
@@ -0,0 +1,68 @@
+package com.itcenter.controller;
+
+import com.itcenter.dto.RevokeTokenRequestDto;
+import com.itcenter.dto.TokenRevocationResponseDto;
+import com.itcenter.service.TokenRevocationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+/**
+ * REST controller for access token revocation
+ */
+@RestController
+@RequestMapping("/admin/tokens")
+@Tag(name = "Token Revocation", description = "Admin token revocation endpoints")
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("hasRole('ADMIN')")
+public class TokenRevocationController {
+    
+    private final TokenRevocationService tokenRevocationService;
+    
+    public TokenRevocationController(TokenRevocationService tokenRevocationService) {
+        this.tokenRevocationService = tokenRevocationService;
+    }
+    
+    @PostMapping("/revoke")
+    @Operation(summary = "Revoke token", 
+               description = "Revoke a single access token by its token id (jti) until it expires")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Token revoked successfully",
+                    content = @Content(schema = @Schema(implementation = TokenRevocationResponseDto.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    public ResponseEntity<TokenRevocationResponseDto> revokeToken(
+            @Valid @RequestBody RevokeTokenRequestDto request) {
+        tokenRevocationService.revokeToken(request.getTokenId(), request.getExpiresAt());
+        return ResponseEntity.ok(new TokenRevocationResponseDto("Token revoked", Instant.now()));
+    }
+    
+    @PostMapping("/revoke-user/{userId}")
+    @Operation(summary = "Revoke all tokens for user", 
+               description = "Revoke every access token issued to a user up to now")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tokens revoked successfully",
+                    content = @Content(schema = @Schema(implementation = TokenRevocationResponseDto.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    public ResponseEntity<TokenRevocationResponseDto> revokeAllForUser(
+            @Parameter(description = "User ID (token subject)") 
+            @PathVariable String userId) {
+        Instant revokedAt = tokenRevocationService.revokeAllForUser(userId);
+        return ResponseEntity.ok(new TokenRevocationResponseDto("All tokens revoked for user", revokedAt));
+    }
+}
@@ -1,6 +1,8 @@
 package com.itcenter.controller;
 
 import com.itcenter.dto.*;
+import com.itcenter.service.ReactiveReadService;
+import com.itcenter.service.UserOverviewService;
 import com.itcenter.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,9 +16,14 @@ import jakarta.validation.Valid;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Flux;
 
 /**
  * REST controller for admin user management
@@ -29,9 +36,14 @@ import org.springframework.web.bind.annotation.*;
 public class UserManagementController {
     
     private final UserService userService;
+    private final ReactiveReadService reactiveReadService;
+    private final UserOverviewService userOverviewService;
     
-    public UserManagementController(UserService userService) {
+    public UserManagementController(UserService userService, ReactiveReadService reactiveReadService,
+                                    UserOverviewService userOverviewService) {
         this.userService = userService;
+        this.reactiveReadService = reactiveReadService;
+        this.userOverviewService = userOverviewService;
     }
     
     @GetMapping
@@ -40,10 +52,11 @@ public class UserManagementController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Users retrieved successfully",
                     content = @Content(schema = @Schema(implementation = PageResponseDto.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown field requested"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
     })
-    public ResponseEntity<PageResponseDto<UserManagementDto>> searchUsers(
+    public ResponseEntity<MappingJacksonValue> searchUsers(
             @Parameter(description = "Search query for name or email") 
             @RequestParam(required = false) String query,
             @Parameter(description = "Page number (0-based)") 
@@ -53,14 +66,49 @@ public class UserManagementController {
             @Parameter(description = "Sort field") 
             @RequestParam(defaultValue = "createdAt") String sort,
             @Parameter(description = "Sort direction") 
-            @RequestParam(defaultValue = "desc") String direction) {
+            @RequestParam(defaultValue = "desc") String direction,
+            @Parameter(description = "Comma separated user fields to return, e.g. userId,email,displayName; all fields if omitted") 
+            @RequestParam(required = false) String fields) {
         
+        FieldSelection selection = FieldSelection.parse(fields, UserManagementDto.FIELDS);
         Sort.Direction sortDirection = "asc".equalsIgnoreCase(direction) ? 
             Sort.Direction.ASC : Sort.Direction.DESC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
         
-        PageResponseDto<UserManagementDto> result = userService.searchUsers(query, pageable);
-        return ResponseEntity.ok(result);
+        PageResponseDto<UserManagementDto> result = userService.searchUsers(query, pageable, selection);
+        return ResponseEntity.ok(selection.apply(result, UserManagementDto.FILTER));
+    }
+    
+    @PostMapping("/batch")
+    @Operation(summary = "Look up users by ID", 
+               description = "Profiles of up to app.user.batch-lookup.max-ids users keyed by ID, " +
+                             "served from the profile cache or loaded with two queries in total")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Users retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = BatchUserLookupResponseDto.class))),
+        @ApiResponse(responseCode = "400", description = "No IDs, blank IDs or too many IDs"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    public ResponseEntity<BatchUserLookupResponseDto> getUsersByIds(
+            @Valid @RequestBody BatchUserLookupRequestDto request) {
+        return ResponseEntity.ok(userService.getUsersByIds(request.getUserIds()));
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream users", 
+               description = "Stream users newest first as newline-delimited JSON, without holding a request thread")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Users streamed successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    public Flux<UserManagementDto> streamUsers(
+            @Parameter(description = "Search query for name or email") 
+            @RequestParam(required = false) String query,
+            @Parameter(description = "Maximum number of users to stream") 
+            @RequestParam(defaultValue = "1000") int limit) {
+        return reactiveReadService.streamUsers(query, limit);
     }
     
     @GetMapping("/{userId}")
@@ -69,15 +117,41 @@ public class UserManagementController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "User retrieved successfully",
                     content = @Content(schema = @Schema(implementation = UserManagementDto.class))),
+        @ApiResponse(responseCode = "304", description = "User unchanged since the If-None-Match ETag"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required"),
         @ApiResponse(responseCode = "404", description = "User not found")
     })
     public ResponseEntity<UserManagementDto> getUserById(
             @Parameter(description = "User ID") 
-            @PathVariable String userId) {
+            @PathVariable String userId,
+            WebRequest request) {
+        String eTag = userService.getUserETag(userId);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return null;
+        }
+        
         UserManagementDto user = userService.getUserById(userId);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .body(user);
+    }
+    
+    @GetMapping("/{userId}/overview")
+    @Operation(summary = "Get user overview", 
+               description = "User details with recent audit entries, recent logins and the suspicious activity flag, " +
+                             "loaded in parallel; parts that miss the deadline are listed in 'missing'")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Overview retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = UserOverviewDto.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required"),
+        @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public ResponseEntity<UserOverviewDto> getUserOverview(
+            @Parameter(description = "User ID") 
+            @PathVariable String userId) {
+        return ResponseEntity.ok(userOverviewService.getUserOverview(userId));
     }
     
     @PatchMapping("/{userId}/roles")
@@ -14,9 +14,11 @@ import jakarta.validation.Valid;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST controller for user profile management
@@ -39,13 +41,22 @@ public class UserProfileController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Profile retrieved successfully",
                     content = @Content(schema = @Schema(implementation = UserProfileDto.class))),
+        @ApiResponse(responseCode = "304", description = "Profile unchanged since the If-None-Match ETag"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "404", description = "User not found")
     })
     @PreAuthorize("hasAnyRole('ADMIN', 'STAFF')")
-    public ResponseEntity<UserProfileDto> getCurrentUserProfile() {
+    public ResponseEntity<UserProfileDto> getCurrentUserProfile(WebRequest request) {
+        String eTag = userService.getCurrentUserProfileETag();
+        if (eTag != null && request.checkNotModified(eTag)) {
+            // 304 with the ETag header set; nothing is loaded or serialized
+            return null;
+        }
+        
         UserProfileDto profile = userService.getCurrentUserProfile();
-        return ResponseEntity.ok(profile);
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .body(profile);
     }
     
     @PatchMapping
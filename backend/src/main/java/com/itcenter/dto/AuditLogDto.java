@@ -1,14 +1,29 @@
 package com.itcenter.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
+import java.util.Set;
 
 /**
  * DTO for audit log entries
  */
+@JsonFilter(AuditLogDto.FILTER)
 public class AuditLogDto {
     
+    /**
+     * Jackson filter id used to serialize a sparse fieldset
+     */
+    public static final String FILTER = "auditLogFields";
+    
+    /**
+     * Fields that can be requested with fields=
+     */
+    public static final Set<String> FIELDS = Set.of(
+        "id", "userId", "userEmail", "userDisplayName", "eventType", "ipAddress",
+        "userAgent", "success", "failureReason", "sessionId", "createdAt");
+    
     private Long id;
     
     private String userId;
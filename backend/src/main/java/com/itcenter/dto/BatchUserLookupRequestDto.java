@@ -0,0 +1,34 @@
+package com.itcenter.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * DTO for looking up several users at once
+ */
+public class BatchUserLookupRequestDto {
+    
+    @Schema(description = "User IDs to look up; duplicates are ignored",
+            example = "[\"123e4567-e89b-12d3-a456-426614174000\"]")
+    @NotEmpty(message = "At least one user ID is required")
+    private List<@NotBlank(message = "User IDs must not be blank") String> userIds;
+    
+    // Constructors
+    public BatchUserLookupRequestDto() {}
+    
+    public BatchUserLookupRequestDto(List<String> userIds) {
+        this.userIds = userIds;
+    }
+    
+    // Getters and Setters
+    public List<String> getUserIds() {
+        return userIds;
+    }
+    
+    public void setUserIds(List<String> userIds) {
+        this.userIds = userIds;
+    }
+}
@@ -0,0 +1,43 @@
+package com.itcenter.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch user lookup response DTO
+ */
+public class BatchUserLookupResponseDto {
+    
+    @Schema(description = "Profiles of the users found, keyed by user ID")
+    private Map<String, UserProfileDto> users;
+    
+    @Schema(description = "Requested user IDs that do not exist")
+    private List<String> notFound;
+    
+    // Constructors
+    public BatchUserLookupResponseDto() {}
+    
+    public BatchUserLookupResponseDto(Map<String, UserProfileDto> users, List<String> notFound) {
+        this.users = users;
+        this.notFound = notFound;
+    }
+    
+    // Getters and Setters
+    public Map<String, UserProfileDto> getUsers() {
+        return users;
+    }
+    
+    public void setUsers(Map<String, UserProfileDto> users) {
+        this.users = users;
+    }
+    
+    public List<String> getNotFound() {
+        return notFound;
+    }
+    
+    public void setNotFound(List<String> notFound) {
+        this.notFound = notFound;
+    }
+}
@@ -0,0 +1,105 @@
+package com.itcenter.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Admin dashboard summary DTO
+ */
+public class DashboardDto {
+    
+    @Schema(description = "Number of users", example = "123")
+    private long totalUsers;
+    
+    @Schema(description = "Number of users holding each role", example = "{\"ADMIN\": 3, \"STAFF\": 120}")
+    private Map<String, Long> usersByRole;
+    
+    @Schema(description = "Successful logins in the last hour", example = "42")
+    private long loginsLastHour;
+    
+    @Schema(description = "Successful logins in the last 24 hours", example = "615")
+    private long loginsLastDay;
+    
+    @Schema(description = "Failed logins in the last hour", example = "3")
+    private long failuresLastHour;
+    
+    @Schema(description = "Failed logins in the last 24 hours", example = "57")
+    private long failuresLastDay;
+    
+    @Schema(description = "Users with the most failed logins in the last 24 hours")
+    private List<FailedLoginUserDto> topFailedUsers;
+    
+    @Schema(description = "Last time the figures were rebuilt from the database", example = "2024-01-20T10:30:00Z")
+    private Instant rebuiltAt;
+    
+    // Constructors
+    public DashboardDto() {}
+    
+    // Getters and Setters
+    public long getTotalUsers() {
+        return totalUsers;
+    }
+    
+    public void setTotalUsers(long totalUsers) {
+        this.totalUsers = totalUsers;
+    }
+    
+    public Map<String, Long> getUsersByRole() {
+        return usersByRole;
+    }
+    
+    public void setUsersByRole(Map<String, Long> usersByRole) {
+        this.usersByRole = usersByRole;
+    }
+    
+    public long getLoginsLastHour() {
+        return loginsLastHour;
+    }
+    
+    public void setLoginsLastHour(long loginsLastHour) {
+        this.loginsLastHour = loginsLastHour;
+    }
+    
+    public long getLoginsLastDay() {
+        return loginsLastDay;
+    }
+    
+    public void setLoginsLastDay(long loginsLastDay) {
+        this.loginsLastDay = loginsLastDay;
+    }
+    
+    public long getFailuresLastHour() {
+        return failuresLastHour;
+    }
+    
+    public void setFailuresLastHour(long failuresLastHour) {
+        this.failuresLastHour = failuresLastHour;
+    }
+    
+    public long getFailuresLastDay() {
+        return failuresLastDay;
+    }
+    
+    public void setFailuresLastDay(long failuresLastDay) {
+        this.failuresLastDay = failuresLastDay;
+    }
+    
+    public List<FailedLoginUserDto> getTopFailedUsers() {
+        return topFailedUsers;
+    }
+    
+    public void setTopFailedUsers(List<FailedLoginUserDto> topFailedUsers) {
+        this.topFailedUsers = topFailedUsers;
+    }
+    
+    public Instant getRebuiltAt() {
+        return rebuiltAt;
+    }
+    
+    public void setRebuiltAt(Instant rebuiltAt) {
+        this.rebuiltAt = rebuiltAt;
+    }
+}
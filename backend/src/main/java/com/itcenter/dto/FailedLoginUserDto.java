@@ -0,0 +1,40 @@
+package com.itcenter.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * User with failed sign-in attempts DTO
+ */
+public class FailedLoginUserDto {
+    
+    @Schema(description = "User ID", example = "123e4567-e89b-12d3-a456-426614174000")
+    private String userId;
+    
+    @Schema(description = "Estimated failed attempts in the last day; may over-count by a few", example = "17")
+    private long failures;
+    
+    // Constructors
+    public FailedLoginUserDto() {}
+    
+    public FailedLoginUserDto(String userId, long failures) {
+        this.userId = userId;
+        this.failures = failures;
+    }
+    
+    // Getters and Setters
+    public String getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+    
+    public long getFailures() {
+        return failures;
+    }
+    
+    public void setFailures(long failures) {
+        this.failures = failures;
+    }
+}
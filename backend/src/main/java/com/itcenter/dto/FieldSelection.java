@@ -0,0 +1,102 @@
+package com.itcenter.dto;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Fields requested with a fields= query parameter (sparse fieldset).
+ *
+ * Services use it to skip loading associations nobody asked for; controllers
+ * use it to serialize only the requested properties of DTOs annotated with
+ * the matching @JsonFilter.
+ */
+public final class FieldSelection {
+    
+    private static final FieldSelection ALL = new FieldSelection(null);
+    
+    // null means every field
+    private final Set<String> fields;
+    
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+    
+    /**
+     * Every field, as when no fields= parameter is given
+     */
+    public static FieldSelection all() {
+        return ALL;
+    }
+    
+    /**
+     * Parse a comma separated field list, rejecting fields the DTO does not have
+     */
+    public static FieldSelection parse(String fields, Set<String> available) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        
+        Set<String> requested = Arrays.stream(fields.split(","))
+            .map(String::trim)
+            .filter(field -> !field.isEmpty())
+            .collect(Collectors.toCollection(TreeSet::new));
+        if (requested.isEmpty()) {
+            return ALL;
+        }
+        
+        Set<String> unknown = new TreeSet<>(requested);
+        unknown.removeAll(available);
+        if (!unknown.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Unknown fields " + unknown + ", available fields are " + new TreeSet<>(available));
+        }
+        return new FieldSelection(requested);
+    }
+    
+    public boolean isAll() {
+        return fields == null;
+    }
+    
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+    
+    /**
+     * Wrap a response body so that the DTOs under the given filter only
+     * serialize the selected fields
+     */
+    public MappingJacksonValue apply(Object body, String filterId) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (fields != null) {
+            value.setFilters(defaultFilters()
+                .addFilter(filterId, SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        }
+        return value;
+    }
+    
+    /**
+     * Filters used when a response has no field selection: every field of
+     * every filtered DTO is written
+     */
+    public static SimpleFilterProvider defaultFilters() {
+        return new SimpleFilterProvider()
+            .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll())
+            .setFailOnUnknownId(false);
+    }
+    
+    /**
+     * Canonical form, stable regardless of the order fields were requested in
+     */
+    @Override
+    public String toString() {
+        return fields == null ? "*" : String.join(",", fields);
+    }
+}
@@ -16,6 +16,9 @@ public class LoginResponseDto {
     @Schema(description = "Success message", example = "Login successful")
     private String message;
     
+    @Schema(description = "MFA session to pass to /auth/verify-mfa when MFA is required", example = "4f1c2d7e-8a9b-4c3d-9e0f-1a2b3c4d5e6f")
+    private String session;
+    
     // Constructors
     public LoginResponseDto() {}
     
@@ -25,6 +28,11 @@ public class LoginResponseDto {
         this.message = message;
     }
     
+    public LoginResponseDto(String token, boolean needsMfa, String message, String session) {
+        this(token, needsMfa, message);
+        this.session = session;
+    }
+    
     // Getters and Setters
     public String getToken() {
         return token;
@@ -49,4 +57,12 @@ public class LoginResponseDto {
     public void setMessage(String message) {
         this.message = message;
     }
+    
+    public String getSession() {
+        return session;
+    }
+    
+    public void setSession(String session) {
+        this.session = session;
+    }
 }
@@ -14,6 +14,9 @@ public class MfaVerificationRequestDto {
     @Schema(description = "6-digit MFA code", example = "123456")
     private String code;
     
+    @Schema(description = "MFA session returned by /auth/login", example = "4f1c2d7e-8a9b-4c3d-9e0f-1a2b3c4d5e6f")
+    private String session;
+    
     // Constructors
     public MfaVerificationRequestDto() {}
     
@@ -29,4 +32,12 @@ public class MfaVerificationRequestDto {
     public void setCode(String code) {
         this.code = code;
     }
+    
+    public String getSession() {
+        return session;
+    }
+    
+    public void setSession(String session) {
+        this.session = session;
+    }
 }
@@ -0,0 +1,54 @@
+package com.itcenter.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+import java.time.Instant;
+
+/**
+ * DTO for revoking a single access token
+ */
+public class RevokeTokenRequestDto {
+    
+    @NotBlank(message = "Token id is required")
+    @Pattern(regexp = "^\\S+$", message = "Token id must not contain whitespace")
+    @Schema(description = "Token id (jti claim) to revoke", example = "2b7f1c1e-5c1a-4b53-9d1f-0f7f3c0a9e21")
+    private String tokenId;
+    
+    @Schema(description = "Token expiry (exp claim); defaults to the maximum token lifetime", example = "2024-01-20T11:30:00Z")
+    private Instant expiresAt;
+    
+    // Constructors
+    public RevokeTokenRequestDto() {}
+    
+    public RevokeTokenRequestDto(String tokenId, Instant expiresAt) {
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+    
+    // Getters and Setters
+    public String getTokenId() {
+        return tokenId;
+    }
+    
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+    
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "RevokeTokenRequestDto{" +
+                "tokenId='" + tokenId + '\'' +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -0,0 +1,43 @@
+package com.itcenter.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Users per role DTO
+ */
+public class RoleStatisticsDto {
+    
+    @Schema(description = "Number of users holding each role", example = "{\"ADMIN\": 3, \"STAFF\": 120}")
+    private Map<String, Long> usersByRole;
+    
+    @Schema(description = "Last time the counts were checked against the database", example = "2024-01-20T10:30:00Z")
+    private Instant reconciledAt;
+    
+    // Constructors
+    public RoleStatisticsDto() {}
+    
+    public RoleStatisticsDto(Map<String, Long> usersByRole, Instant reconciledAt) {
+        this.usersByRole = usersByRole;
+        this.reconciledAt = reconciledAt;
+    }
+    
+    // Getters and Setters
+    public Map<String, Long> getUsersByRole() {
+        return usersByRole;
+    }
+    
+    public void setUsersByRole(Map<String, Long> usersByRole) {
+        this.usersByRole = usersByRole;
+    }
+    
+    public Instant getReconciledAt() {
+        return reconciledAt;
+    }
+    
+    public void setReconciledAt(Instant reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+}
@@ -0,0 +1,42 @@
+package com.itcenter.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+/**
+ * Token revocation response DTO
+ */
+public class TokenRevocationResponseDto {
+    
+    @Schema(description = "Success message", example = "Token revoked")
+    private String message;
+    
+    @Schema(description = "Revocation timestamp", example = "2024-01-20T10:30:00Z")
+    private Instant revokedAt;
+    
+    // Constructors
+    public TokenRevocationResponseDto() {}
+    
+    public TokenRevocationResponseDto(String message, Instant revokedAt) {
+        this.message = message;
+        this.revokedAt = revokedAt;
+    }
+    
+    // Getters and Setters
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    public Instant getRevokedAt() {
+        return revokedAt;
+    }
+    
+    public void setRevokedAt(Instant revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+}
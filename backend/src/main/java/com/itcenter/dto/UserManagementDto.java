@@ -1,5 +1,6 @@
 package com.itcenter.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
@@ -8,8 +9,21 @@ import java.util.Set;
 /**
  * DTO for user management in admin interface
  */
+@JsonFilter(UserManagementDto.FILTER)
 public class UserManagementDto {
     
+    /**
+     * Jackson filter id used to serialize a sparse fieldset
+     */
+    public static final String FILTER = "userManagementFields";
+    
+    /**
+     * Fields that can be requested with fields=
+     */
+    public static final Set<String> FIELDS = Set.of(
+        "userId", "email", "displayName", "locale", "createdAt", "updatedAt",
+        "lastLoginAt", "roles", "active");
+    
     private String userId;
     
     @NotBlank(message = "Email is required")
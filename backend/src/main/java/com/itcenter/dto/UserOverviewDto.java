@@ -0,0 +1,71 @@
+package com.itcenter.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Admin user detail view DTO, combining the user with their recent activity
+ */
+public class UserOverviewDto {
+    
+    @Schema(description = "User details")
+    private UserManagementDto user;
+    
+    @Schema(description = "First page of the user's audit log; null if it could not be loaded in time")
+    private PageResponseDto<AuditLogDto> recentAuditLogs;
+    
+    @Schema(description = "Recent successful logins; null if they could not be loaded in time")
+    private List<AuditLogDto> recentLogins;
+    
+    @Schema(description = "Five or more failed logins in the last 24 hours; null if it could not be checked in time")
+    private Boolean suspiciousActivity;
+    
+    @Schema(description = "Parts missing from this response because they failed or missed the deadline",
+            example = "[\"recentAuditLogs\"]")
+    private List<String> missing;
+    
+    // Constructors
+    public UserOverviewDto() {}
+    
+    // Getters and Setters
+    public UserManagementDto getUser() {
+        return user;
+    }
+    
+    public void setUser(UserManagementDto user) {
+        this.user = user;
+    }
+    
+    public PageResponseDto<AuditLogDto> getRecentAuditLogs() {
+        return recentAuditLogs;
+    }
+    
+    public void setRecentAuditLogs(PageResponseDto<AuditLogDto> recentAuditLogs) {
+        this.recentAuditLogs = recentAuditLogs;
+    }
+    
+    public List<AuditLogDto> getRecentLogins() {
+        return recentLogins;
+    }
+    
+    public void setRecentLogins(List<AuditLogDto> recentLogins) {
+        this.recentLogins = recentLogins;
+    }
+    
+    public Boolean getSuspiciousActivity() {
+        return suspiciousActivity;
+    }
+    
+    public void setSuspiciousActivity(Boolean suspiciousActivity) {
+        this.suspiciousActivity = suspiciousActivity;
+    }
+    
+    public List<String> getMissing() {
+        return missing;
+    }
+    
+    public void setMissing(List<String> missing) {
+        this.missing = missing;
+    }
+}
@@ -1,6 +1,8 @@
 package com.itcenter.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -13,6 +15,8 @@ import java.time.LocalDateTime;
 @Table(name = "user_roles", 
        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "role_id"}))
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
 public class UserRole {
     
     @Id
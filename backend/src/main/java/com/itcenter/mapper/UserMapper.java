@@ -24,6 +24,13 @@ public interface UserMapper {
     @Mapping(target = "roles", source = "userRoles", qualifiedByName = "userRolesToRoleNames")
     UserProfileDto toUserProfileDto(AppUser user);
     
+    /**
+     * Convert AppUser entity to UserProfileDto with roles taken from elsewhere,
+     * leaving the userRoles collection unloaded
+     */
+    @Mapping(target = "roles", ignore = true)
+    UserProfileDto toUserProfileDtoWithoutRoles(AppUser user);
+    
     /**
      * Convert AppUser entity to UserManagementDto
      */
@@ -32,13 +39,32 @@ public interface UserMapper {
     @Mapping(target = "active", constant = "true")
     UserManagementDto toUserManagementDto(AppUser user);
     
+    /**
+     * Convert AppUser entity to UserManagementDto with roles and last login taken
+     * from elsewhere, leaving the userRoles and loginAudits collections unloaded
+     */
+    @Mapping(target = "roles", ignore = true)
+    @Mapping(target = "lastLoginAt", ignore = true)
+    @Mapping(target = "active", constant = "true")
+    UserManagementDto toUserManagementDtoWithoutAssociations(AppUser user);
+    
     /**
      * Convert LoginAudit entity to AuditLogDto
      */
+    @Mapping(target = "userId", source = "user.userId")
     @Mapping(target = "userEmail", source = "user.email")
     @Mapping(target = "userDisplayName", source = "user.displayName")
     AuditLogDto toAuditLogDto(LoginAudit audit);
     
+    /**
+     * Convert LoginAudit entity to AuditLogDto without user details. Only the
+     * user's ID is read, which Hibernate answers without initializing the proxy.
+     */
+    @Mapping(target = "userId", source = "user.userId")
+    @Mapping(target = "userEmail", ignore = true)
+    @Mapping(target = "userDisplayName", ignore = true)
+    AuditLogDto toAuditLogDtoWithoutUser(LoginAudit audit);
+    
     /**
      * Convert Page of entities to PageResponseDto
      */
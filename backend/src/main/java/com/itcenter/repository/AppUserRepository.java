@@ -8,6 +8,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -45,4 +48,33 @@ public interface AppUserRepository extends JpaRepository<AppUser, String> {
      */
     @Query("SELECT COUNT(u) FROM AppUser u JOIN u.userRoles ur JOIN ur.role r WHERE r.name = :roleName")
     long countByRoleName(@Param("roleName") String roleName);
+    
+    /**
+     * Version of a user for ETags: one row per role, none if the user does not exist
+     */
+    @Query("SELECT u.updatedAt AS updatedAt, r.name AS roleName FROM AppUser u " +
+           "LEFT JOIN u.userRoles ur LEFT JOIN ur.role r WHERE u.userId = :userId")
+    List<UserVersion> findVersionById(@Param("userId") String userId);
+    
+    /**
+     * Find users by ID in one IN query
+     */
+    List<AppUser> findByUserIdIn(Collection<String> userIds);
+    
+    /**
+     * Role names of several users in one query, one row per assignment
+     */
+    @Query("SELECT ur.user.userId AS userId, r.name AS roleName FROM UserRole ur " +
+           "JOIN ur.role r WHERE ur.user.userId IN :userIds")
+    List<UserRoleName> findRoleNamesByUserIds(@Param("userIds") Collection<String> userIds);
+    
+    interface UserVersion {
+        LocalDateTime getUpdatedAt();
+        String getRoleName();
+    }
+    
+    interface UserRoleName {
+        String getUserId();
+        String getRoleName();
+    }
 }
@@ -9,6 +9,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Repository interface for LoginAudit entity
@@ -74,4 +76,77 @@ public interface LoginAuditRepository extends JpaRepository<LoginAudit, Long> {
            "la.success = true " +
            "ORDER BY la.createdAt DESC")
     Page<LoginAudit> findRecentSuccessfulLogins(@Param("userId") String userId, Pageable pageable);
+    
+    /**
+     * Time of a user's last successful login, without loading any audit rows
+     */
+    @Query("SELECT MAX(la.createdAt) FROM LoginAudit la WHERE " +
+           "la.user.userId = :userId AND " +
+           "la.eventType = 'LOGIN' AND " +
+           "la.success = true")
+    LocalDateTime findLastSuccessfulLoginAt(@Param("userId") String userId);
+    
+    /**
+     * Last successful login of several users in one query; users who never logged in have no row
+     */
+    @Query("SELECT la.user.userId AS userId, MAX(la.createdAt) AS lastLoginAt FROM LoginAudit la WHERE " +
+           "la.user.userId IN :userIds AND " +
+           "la.eventType = 'LOGIN' AND " +
+           "la.success = true " +
+           "GROUP BY la.user.userId")
+    List<UserLastLogin> findLastSuccessfulLoginsByUserIds(@Param("userIds") Collection<String> userIds);
+    
+    interface UserLastLogin {
+        String getUserId();
+        LocalDateTime getLastLoginAt();
+    }
+    
+    /**
+     * Version of a date range for ETags: entry count and the latest change to a user shown in it
+     */
+    @Query("SELECT COUNT(la) AS entries, MAX(u.updatedAt) AS usersUpdatedAt FROM LoginAudit la " +
+           "LEFT JOIN la.user u WHERE " +
+           "la.createdAt >= :startDate AND la.createdAt <= :endDate")
+    DateRangeVersion findVersionByDateRange(
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate);
+    
+    interface DateRangeVersion {
+        long getEntries();
+        LocalDateTime getUsersUpdatedAt();
+    }
+    
+    /**
+     * Successful and failed logins per minute since the given time
+     */
+    @Query(value = "SELECT CAST(EXTRACT(EPOCH FROM date_trunc('minute', created_at)) AS bigint) / 60 AS \"epochMinute\", " +
+                   "COUNT(*) FILTER (WHERE event_type = 'LOGIN' AND success IS NOT FALSE) AS logins, " +
+                   "COUNT(*) FILTER (WHERE event_type = 'LOGIN_FAILED' OR success IS FALSE) AS failures " +
+                   "FROM login_audit WHERE created_at >= :since AND event_type IN ('LOGIN', 'LOGIN_FAILED') " +
+                   "GROUP BY 1",
+           nativeQuery = true)
+    List<MinuteActivity> countLoginActivityByMinute(@Param("since") LocalDateTime since);
+    
+    /**
+     * Failed logins per user and hour since the given time
+     */
+    @Query(value = "SELECT CAST(EXTRACT(EPOCH FROM date_trunc('hour', created_at)) AS bigint) / 3600 AS \"epochHour\", " +
+                   "user_id AS \"userId\", COUNT(*) AS failures " +
+                   "FROM login_audit WHERE created_at >= :since AND " +
+                   "(event_type = 'LOGIN_FAILED' OR (event_type = 'LOGIN' AND success IS FALSE)) " +
+                   "GROUP BY 1, 2",
+           nativeQuery = true)
+    List<UserHourFailures> countFailedLoginsByUserAndHour(@Param("since") LocalDateTime since);
+    
+    interface MinuteActivity {
+        long getEpochMinute();
+        long getLogins();
+        long getFailures();
+    }
+    
+    interface UserHourFailures {
+        long getEpochHour();
+        String getUserId();
+        long getFailures();
+    }
 }
@@ -1,9 +1,14 @@
 package com.itcenter.repository;
 
 import com.itcenter.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -13,12 +18,25 @@ import java.util.Optional;
 public interface RoleRepository extends JpaRepository<Role, Long> {
     
     /**
-     * Find role by name
+     * Find role by name, served from the query cache once loaded
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByName(String name);
     
     /**
      * Check if role exists by name
      */
     boolean existsByName(String name);
+    
+    /**
+     * Number of users holding each role, including roles nobody holds
+     */
+    @Query("SELECT r.name AS roleName, COUNT(ur.id) AS users FROM Role r " +
+           "LEFT JOIN r.userRoles ur GROUP BY r.name")
+    List<RoleUserCount> countUsersByRole();
+    
+    interface RoleUserCount {
+        String getRoleName();
+        long getUsers();
+    }
 }
@@ -1,14 +1,17 @@
 package com.itcenter.service;
 
 import com.itcenter.dto.AuditLogDto;
+import com.itcenter.dto.FieldSelection;
 import com.itcenter.dto.PageResponseDto;
 import com.itcenter.entity.AppUser;
 import com.itcenter.entity.LoginAudit;
 import com.itcenter.mapper.UserMapper;
 import com.itcenter.repository.AppUserRepository;
 import com.itcenter.repository.LoginAuditRepository;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -16,12 +19,16 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Service for audit logging and retrieval
  */
 @Service
+@Timed(value = "service.method", description = "Service method latency")
 @Transactional
 public class AuditService {
     
@@ -30,13 +37,19 @@ public class AuditService {
     private final LoginAuditRepository auditRepository;
     private final AppUserRepository userRepository;
     private final UserMapper userMapper;
+    private final DashboardService dashboardService;
+    private final long settleSeconds;
     
     public AuditService(LoginAuditRepository auditRepository,
                        AppUserRepository userRepository,
-                       UserMapper userMapper) {
+                       UserMapper userMapper,
+                       DashboardService dashboardService,
+                       @Value("${app.audit.etag-settle-seconds:60}") long settleSeconds) {
         this.auditRepository = auditRepository;
         this.userRepository = userRepository;
         this.userMapper = userMapper;
+        this.dashboardService = dashboardService;
+        this.settleSeconds = settleSeconds;
     }
     
     /**
@@ -54,18 +67,20 @@ public class AuditService {
         audit.setSessionId(generateSessionId());
         
         auditRepository.save(audit);
+        dashboardService.recordAuditEvent(userId, eventType, success);
         
         logger.info("Logged audit event: {} for user: {} with success: {}", 
             eventType, userId, success);
     }
     
     /**
-     * Get audit logs with pagination and filtering
+     * Get audit logs with pagination and filtering; user details are only
+     * loaded when the field selection asks for them
      */
     @Transactional(readOnly = true)
     public PageResponseDto<AuditLogDto> getAuditLogs(String userId, String eventType, 
                                                     LocalDateTime startDate, LocalDateTime endDate, 
-                                                    Pageable pageable) {
+                                                    Pageable pageable, FieldSelection fields) {
         Page<LoginAudit> audits;
         
         if (userId != null && eventType != null) {
@@ -80,29 +95,83 @@ public class AuditService {
             audits = auditRepository.findAll(pageable);
         }
         
-        List<AuditLogDto> auditDtos = audits.getContent().stream()
-            .map(userMapper::toAuditLogDto)
-            .collect(Collectors.toList());
+        List<AuditLogDto> auditDtos = toAuditLogDtos(audits.getContent(), fields);
         
         logger.info("Retrieved {} audit logs", audits.getTotalElements());
         return userMapper.toPageResponseDto(audits, auditDtos);
     }
     
+    /**
+     * Weak ETag for a page of audit logs that can no longer change, or null.
+     * 
+     * Only date-range pages ending before the settle window qualify: no new
+     * entry can fall into them, so the tag only has to track deletions and
+     * changes to the users shown. Pages that new events can still reach get
+     * no tag.
+     */
+    @Transactional(readOnly = true)
+    public String getAuditLogsETag(String userId, String eventType,
+                                   LocalDateTime startDate, LocalDateTime endDate,
+                                   Pageable pageable, FieldSelection fields) {
+        if (userId != null || eventType != null || startDate == null || endDate == null
+                || !endDate.isBefore(LocalDateTime.now().minusSeconds(settleSeconds))) {
+            return null;
+        }
+        
+        LoginAuditRepository.DateRangeVersion version = auditRepository.findVersionByDateRange(startDate, endDate);
+        return EntityTags.weak("audit", startDate, endDate, pageable.getPageNumber(), pageable.getPageSize(),
+            fields.toString(), version.getEntries(), version.getUsersUpdatedAt());
+    }
+    
     /**
      * Get audit logs for a specific user
      */
     @Transactional(readOnly = true)
     public PageResponseDto<AuditLogDto> getUserAuditLogs(String userId, Pageable pageable) {
+        return getUserAuditLogs(userId, pageable, FieldSelection.all());
+    }
+    
+    /**
+     * Get audit logs for a specific user, loading the user only if its details are selected
+     */
+    @Transactional(readOnly = true)
+    public PageResponseDto<AuditLogDto> getUserAuditLogs(String userId, Pageable pageable, FieldSelection fields) {
         Page<LoginAudit> audits = auditRepository.findByUser_UserIdOrderByCreatedAtDesc(userId, pageable);
         
-        List<AuditLogDto> auditDtos = audits.getContent().stream()
-            .map(userMapper::toAuditLogDto)
-            .collect(Collectors.toList());
+        List<AuditLogDto> auditDtos = toAuditLogDtos(audits.getContent(), fields);
         
         logger.info("Retrieved {} audit logs for user: {}", audits.getTotalElements(), userId);
         return userMapper.toPageResponseDto(audits, auditDtos);
     }
     
+    /**
+     * Map a page of audit entries. Unless user details are selected, only the
+     * user's ID is read and the user join is never made; otherwise the users
+     * of the page are loaded with one IN query.
+     */
+    private List<AuditLogDto> toAuditLogDtos(List<LoginAudit> audits, FieldSelection fields) {
+        List<AuditLogDto> auditDtos = audits.stream()
+            .map(userMapper::toAuditLogDtoWithoutUser)
+            .collect(Collectors.toList());
+        if (!fields.includes("userEmail") && !fields.includes("userDisplayName")) {
+            return auditDtos;
+        }
+        
+        Set<String> userIds = auditDtos.stream()
+            .map(AuditLogDto::getUserId)
+            .collect(Collectors.toSet());
+        Map<String, AppUser> users = userIds.isEmpty() ? Map.of() : userRepository.findByUserIdIn(userIds).stream()
+            .collect(Collectors.toMap(AppUser::getUserId, Function.identity()));
+        for (AuditLogDto dto : auditDtos) {
+            AppUser user = users.get(dto.getUserId());
+            if (user != null) {
+                dto.setUserEmail(user.getEmail());
+                dto.setUserDisplayName(user.getDisplayName());
+            }
+        }
+        return auditDtos;
+    }
+    
     /**
      * Get recent login attempts for a user
      */
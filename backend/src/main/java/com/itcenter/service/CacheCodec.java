@@ -0,0 +1,26 @@
+package com.itcenter.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Compact binary encoding of cached values for the shared (Redis) tier
+ */
+public interface CacheCodec<V> {
+    
+    void write(V value, DataOutputStream out) throws IOException;
+    
+    V read(DataInputStream in) throws IOException;
+    
+    static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+    
+    static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
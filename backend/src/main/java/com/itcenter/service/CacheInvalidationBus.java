@@ -0,0 +1,245 @@
+package com.itcenter.service;
+
+import com.itcenter.entity.AppUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Cross-node cache invalidation over Postgres LISTEN/NOTIFY.
+ * 
+ * Writers call the invalidate methods inside their transaction: the local
+ * caches are evicted immediately and after commit, and a NOTIFY is issued on
+ * the transaction's own connection, so Postgres only delivers it to other
+ * nodes if the transaction commits. Each node listens on a dedicated
+ * connection outside the pool and reconnects with backoff; after a
+ * reconnect everything is evicted, since notifications sent while
+ * disconnected are lost.
+ */
+@Component
+public class CacheInvalidationBus implements DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+    
+    private static final String USER = "U";
+    private static final String SEPARATOR = "|";
+    private static final String USER_ROLES_COLLECTION = AppUser.class.getName() + ".userRoles";
+    private static final long MAX_BACKOFF_MS = 30000;
+    
+    private final UserProfileCache userProfileCache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String channel;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int pollIntervalMs;
+    
+    // Distinguishes this node's own notifications, which it has already applied
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final Counter published;
+    private final Counter received;
+    
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread listenerThread;
+    
+    public CacheInvalidationBus(
+            UserProfileCache userProfileCache,
+            EntityManagerFactory entityManagerFactory,
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.invalidation.enabled:true}") boolean enabled,
+            @Value("${app.cache.invalidation.channel:itcenter_cache_invalidation}") String channel,
+            @Value("${app.cache.invalidation.url:}") String url,
+            @Value("${spring.datasource.url}") String jdbcUrl,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${app.cache.invalidation.poll-interval-ms:5000}") int pollIntervalMs) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel: " + channel);
+        }
+        this.userProfileCache = userProfileCache;
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.enabled = enabled;
+        this.channel = channel;
+        // NOTIFY is not replicated, so always listen on the primary
+        this.url = url.isBlank() ? jdbcUrl : url;
+        this.username = username;
+        this.password = password;
+        this.pollIntervalMs = pollIntervalMs;
+        
+        this.published = Counter.builder("cache.invalidations")
+            .description("Cache invalidations sent to or received from other nodes")
+            .tag("direction", "published")
+            .register(meterRegistry);
+        this.received = Counter.builder("cache.invalidations")
+            .description("Cache invalidations sent to or received from other nodes")
+            .tag("direction", "received")
+            .register(meterRegistry);
+        Gauge.builder("cache.invalidations.listening", this, bus -> bus.listening ? 1 : 0)
+            .description("Whether the invalidation listener is connected")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * A user's profile or role assignments changed
+     */
+    public void invalidateUser(String userId) {
+        publish(USER, userId);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void startListening() {
+        if (!enabled) {
+            logger.info("Cross-node cache invalidation disabled");
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listen, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+    
+    @Override
+    public void destroy() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+    
+    private void publish(String type, String key) {
+        evict(type, key, true);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A reader may have re-cached the old state before the commit
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(type, key, true);
+                }
+            });
+        }
+        if (!enabled) {
+            return;
+        }
+        
+        // Runs on the transaction's connection when there is one, so it is delivered on commit only
+        try {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> null,
+                channel, nodeId + SEPARATOR + type + SEPARATOR + key);
+            published.increment();
+        } catch (RuntimeException e) {
+            // Other nodes converge when their entries expire
+            logger.warn("Failed to publish cache invalidation {} {}: {}", type, key, e.getMessage());
+        }
+    }
+    
+    private void listen() {
+        long backoffMs = 1000;
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                listening = true;
+                backoffMs = 1000;
+                if (connectedBefore) {
+                    logger.info("Cache invalidation listener reconnected, evicting all cached entries");
+                    evictAll();
+                } else {
+                    logger.info("Listening for cache invalidations on channel {} as node {}", channel, nodeId);
+                }
+                connectedBefore = true;
+                
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollIntervalMs);
+                    if (notifications == null || notifications.length == 0) {
+                        // A silently dropped connection never delivers again; probe it
+                        try (Statement statement = connection.createStatement()) {
+                            statement.execute("SELECT 1");
+                        }
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                listening = false;
+                if (!running) {
+                    break;
+                }
+                logger.warn("Cache invalidation listener disconnected, retrying in {} ms: {}", backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            }
+        }
+        listening = false;
+    }
+    
+    private void handle(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length != 3) {
+            logger.warn("Ignoring malformed cache invalidation: {}", payload);
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        received.increment();
+        evict(parts[1], parts[2], false);
+    }
+    
+    /**
+     * @param shared also remove the entry from the shared Redis tier; only the writing node needs to
+     */
+    private void evict(String type, String key, boolean shared) {
+        Cache secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (USER.equals(type)) {
+            if (shared) {
+                userProfileCache.evict(key);
+            } else {
+                userProfileCache.evictLocal(key);
+            }
+            secondLevelCache.evictEntityData(AppUser.class, key);
+            secondLevelCache.evictCollectionData(USER_ROLES_COLLECTION, key);
+        }
+    }
+    
+    private void evictAll() {
+        userProfileCache.evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+}
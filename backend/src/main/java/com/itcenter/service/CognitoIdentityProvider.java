@@ -0,0 +1,107 @@
+package com.itcenter.service;
+
+import com.itcenter.dto.*;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.*;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Identity provider backed by AWS Cognito
+ */
+@Service
+@ConditionalOnProperty(name = "app.identity-provider.type", havingValue = "cognito", matchIfMissing = true)
+public class CognitoIdentityProvider implements IdentityProvider {
+    
+    @Value("${aws.cognito.user-pool-id}")
+    private String userPoolId;
+    
+    @Value("${aws.cognito.client-id}")
+    private String clientId;
+    
+    @Value("${aws.cognito.client-secret:}")
+    private String clientSecret; // empty if not set
+    
+    @Value("${aws.cognito.token-endpoint}")
+    private String tokenEndpoint;
+    
+    private final RestTemplate restTemplate;
+    
+    public CognitoIdentityProvider(@Qualifier("identityProviderRestTemplate") RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+    
+    @Override
+    public LoginResponseDto login(LoginRequestDto request) {
+        // For demo purposes, simulate authentication
+        if ("admin@itcenter.com".equals(request.getEmail()) && "password".equals(request.getPassword())) {
+            return new LoginResponseDto("demo_jwt_token_" + System.currentTimeMillis(), false, "Login successful");
+        } else if ("user@itcenter.com".equals(request.getEmail()) && "password".equals(request.getPassword())) {
+            return new LoginResponseDto(null, true, "MFA required");
+        } else {
+            throw new RuntimeException("Invalid email or password");
+        }
+    }
+    
+    @Override
+    public RegisterResponseDto register(RegisterRequestDto request) {
+        // For demo purposes, simulate registration
+        return new RegisterResponseDto("Registration successful. Please check your email for verification.");
+    }
+    
+    @Override
+    public MfaVerificationResponseDto verifyMfa(MfaVerificationRequestDto request) {
+        // For demo purposes, simulate MFA verification
+        if ("123456".equals(request.getCode())) {
+            return new MfaVerificationResponseDto("demo_jwt_token_" + System.currentTimeMillis(), "MFA verification successful");
+        } else {
+            throw new RuntimeException("Invalid MFA code");
+        }
+    }
+    
+    @Override
+    public ForgotPasswordResponseDto forgotPassword(ForgotPasswordRequestDto request) {
+        // For demo purposes, simulate password reset
+        return new ForgotPasswordResponseDto("Password reset instructions sent to your email.");
+    }
+    
+    @Override
+    public Map<String, Object> exchangeAuthorizationCode(String code, String redirectUri) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        
+        MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
+        body.add("grant_type", "authorization_code");
+        body.add("client_id", clientId);
+        body.add("client_secret", clientSecret);
+        body.add("code", code);
+        body.add("redirect_uri", redirectUri);
+        
+        HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
+        
+        ResponseEntity<Map> response = restTemplate.postForEntity(tokenEndpoint, request, Map.class);
+        
+        if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+            Map<String, Object> tokenResponse = response.getBody();
+            
+            // Return the actual Cognito tokens
+            Map<String, Object> result = new HashMap<>();
+            result.put("access_token", tokenResponse.get("access_token"));
+            result.put("id_token", tokenResponse.get("id_token"));
+            result.put("refresh_token", tokenResponse.get("refresh_token"));
+            result.put("token_type", tokenResponse.get("token_type"));
+            result.put("expires_in", tokenResponse.get("expires_in"));
+            
+            return result;
+        } else {
+            throw new RuntimeException("Failed to exchange code for tokens");
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.itcenter.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Service for hashing and verifying passwords off the request threads.
+ *
+ * BCrypt runs on a dedicated, fixed-size pool with a bounded queue, so a login
+ * storm saturates this pool instead of the servlet workers. Submissions beyond
+ * the queue limit fail fast with 503 rather than piling up.
+ */
+@Service
+public class CredentialVerificationService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CredentialVerificationService.class);
+    
+    // $2a$, $2b$ or $2y$ followed by the two-digit cost
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+    
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    
+    public CredentialVerificationService(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.password-hashing.strength:10}") int strength,
+            @Value("${app.security.password-hashing.pool-size:0}") int poolSize,
+            @Value("${app.security.password-hashing.queue-capacity:100}") int queueCapacity,
+            @Value("${app.security.password-hashing.timeout-ms:5000}") long timeoutMs) {
+        this.passwordEncoder = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.timeoutMs = timeoutMs;
+        
+        // Hashing is pure CPU, so there is no point in more threads than cores
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        
+        this.hashTimer = Timer.builder("auth.password.hash")
+            .description("Time spent hashing or verifying a password")
+            .tag("operation", "hash")
+            .register(meterRegistry);
+        this.verifyTimer = Timer.builder("auth.password.hash")
+            .description("Time spent hashing or verifying a password")
+            .tag("operation", "verify")
+            .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue", executor, e -> e.getQueue().size())
+            .description("Password hashing tasks waiting for a thread")
+            .register(meterRegistry);
+        Gauge.builder("auth.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Password hashing tasks currently running")
+            .register(meterRegistry);
+        
+        logger.info("Password hashing with bcrypt strength {} on {} threads, queue capacity {}",
+            strength, threads, queueCapacity);
+    }
+    
+    /**
+     * Hash a raw password with the configured cost
+     */
+    public String hash(String rawPassword) {
+        return submit(() -> hashTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+    
+    /**
+     * Check a raw password against a stored hash
+     */
+    public boolean verify(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        Boolean matches = submit(() -> verifyTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+        return Boolean.TRUE.equals(matches);
+    }
+    
+    /**
+     * Whether a stored hash was produced with a different cost and should be replaced.
+     * Unlike BCryptPasswordEncoder.upgradeEncoding this also holds when the
+     * configured cost was lowered.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+    
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Password hashing queue full, rejecting request");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent logins, please retry");
+        }
+        
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Password verification timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new RuntimeException("Password verification interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password verification failed", e.getCause());
+        }
+    }
+}
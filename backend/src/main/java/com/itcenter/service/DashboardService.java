@@ -0,0 +1,181 @@
+package com.itcenter.service;
+
+import com.itcenter.dto.DashboardDto;
+import com.itcenter.dto.FailedLoginUserDto;
+import com.itcenter.entity.LoginAudit;
+import com.itcenter.repository.AppUserRepository;
+import com.itcenter.repository.LoginAuditRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service answering the admin dashboard from memory.
+ *
+ * User and audit writes update the aggregates after their transaction
+ * commits. The aggregates are rebuilt from the database on startup and at a
+ * fixed interval, which also brings in writes made on other nodes. Memory is
+ * bounded by the one-day window and the number of users tracked per hour.
+ */
+@Service
+public class DashboardService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+    
+    private final RoleStatisticsService roleStatisticsService;
+    private final AppUserRepository userRepository;
+    private final LoginAuditRepository auditRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int topUsers;
+    private final int trackedUsersPerHour;
+    
+    private final AtomicLong totalUsers = new AtomicLong();
+    // ReentrantLock rather than synchronized so waiting virtual threads are not pinned
+    private final ReentrantLock lock = new ReentrantLock();
+    private LoginActivityWindow window;
+    private volatile Instant rebuiltAt;
+    
+    public DashboardService(
+            RoleStatisticsService roleStatisticsService,
+            AppUserRepository userRepository,
+            LoginAuditRepository auditRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.stats.dashboard.top-users:10}") int topUsers,
+            @Value("${app.stats.dashboard.tracked-users-per-hour:100}") int trackedUsersPerHour) {
+        this.roleStatisticsService = roleStatisticsService;
+        this.userRepository = userRepository;
+        this.auditRepository = auditRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.topUsers = topUsers;
+        this.trackedUsersPerHour = Math.max(topUsers, trackedUsersPerHour);
+        this.window = new LoginActivityWindow(this.trackedUsersPerHour);
+    }
+    
+    public DashboardDto getDashboard() {
+        long nowMinute = epochMinute(LocalDateTime.now());
+        DashboardDto dashboard = new DashboardDto();
+        dashboard.setTotalUsers(totalUsers.get());
+        dashboard.setUsersByRole(roleStatisticsService.getRoleStatistics().getUsersByRole());
+        
+        lock.lock();
+        try {
+            dashboard.setLoginsLastHour(window.logins(nowMinute, 60));
+            dashboard.setLoginsLastDay(window.logins(nowMinute, LoginActivityWindow.MINUTES));
+            dashboard.setFailuresLastHour(window.failures(nowMinute, 60));
+            dashboard.setFailuresLastDay(window.failures(nowMinute, LoginActivityWindow.MINUTES));
+            dashboard.setTopFailedUsers(window.topFailedUsers(nowMinute / 60, topUsers).stream()
+                .map(entry -> new FailedLoginUserDto(entry.getKey(), entry.getValue()))
+                .toList());
+        } finally {
+            lock.unlock();
+        }
+        
+        dashboard.setRebuiltAt(rebuiltAt);
+        return dashboard;
+    }
+    
+    /**
+     * Count a new user once the transaction creating it commits
+     */
+    public void recordUserCreated() {
+        afterCommit(totalUsers::incrementAndGet);
+    }
+    
+    /**
+     * Count a sign-in event once the transaction writing it commits
+     */
+    public void recordAuditEvent(String userId, String eventType, Boolean success) {
+        boolean login = LoginAudit.EventType.LOGIN.equals(eventType);
+        boolean failure = LoginAudit.EventType.LOGIN_FAILED.equals(eventType)
+            || (login && Boolean.FALSE.equals(success));
+        if (!login && !failure) {
+            return;
+        }
+        
+        long minute = epochMinute(LocalDateTime.now());
+        afterCommit(() -> {
+            lock.lock();
+            try {
+                window.add(minute, failure ? 0 : 1, failure ? 1 : 0);
+                if (failure) {
+                    window.addUserFailures(minute / 60, userId, 1);
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+    
+    /**
+     * Rebuild every aggregate from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.stats.dashboard.rebuild-interval-ms:300000}",
+               initialDelayString = "${app.stats.dashboard.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        LocalDateTime since = LocalDateTime.now().minusMinutes(LoginActivityWindow.MINUTES);
+        LoginActivityWindow rebuilt = new LoginActivityWindow(trackedUsersPerHour);
+        Long users;
+        try {
+            users = readOnlyTransaction.execute(status -> {
+                for (LoginAuditRepository.MinuteActivity activity : auditRepository.countLoginActivityByMinute(since)) {
+                    rebuilt.add(activity.getEpochMinute(), activity.getLogins(), activity.getFailures());
+                }
+                List<LoginAuditRepository.UserHourFailures> failures = auditRepository.countFailedLoginsByUserAndHour(since);
+                for (LoginAuditRepository.UserHourFailures userFailures : failures) {
+                    rebuilt.addUserFailures(userFailures.getEpochHour(), userFailures.getUserId(), userFailures.getFailures());
+                }
+                return userRepository.count();
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Failed to rebuild dashboard statistics, keeping current figures", e);
+            return;
+        }
+        
+        lock.lock();
+        try {
+            window = rebuilt;
+        } finally {
+            lock.unlock();
+        }
+        totalUsers.set(users != null ? users : 0);
+        rebuiltAt = Instant.now();
+        logger.debug("Rebuilt dashboard statistics");
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    /**
+     * Minutes since the epoch, reading the local timestamp as UTC the way the stored created_at is bucketed
+     */
+    private static long epochMinute(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+}
@@ -0,0 +1,42 @@
+package com.itcenter.service;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * Builds weak ETags from the values a response is derived from.
+ *
+ * The same inputs must give the same tag whether they come from a cached DTO
+ * or from a version lookup, so timestamps are cut to the database precision
+ * and role sets are sorted before hashing.
+ */
+final class EntityTags {
+    
+    private EntityTags() {
+    }
+    
+    static String weak(String kind, Object... parts) {
+        StringBuilder source = new StringBuilder(kind);
+        for (Object part : parts) {
+            source.append('|').append(normalize(part));
+        }
+        return "W/\"" + kind + "-" + DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+    
+    private static Object normalize(Object part) {
+        if (part instanceof LocalDateTime timestamp) {
+            return timestamp.truncatedTo(ChronoUnit.MICROS);
+        }
+        if (part instanceof Collection<?> values) {
+            TreeSet<String> sorted = new TreeSet<>();
+            values.forEach(value -> sorted.add(String.valueOf(value)));
+            return String.join(",", sorted);
+        }
+        return part;
+    }
+}
@@ -0,0 +1,39 @@
+package com.itcenter.service;
+
+import com.itcenter.dto.*;
+
+import java.util.Map;
+
+/**
+ * Identity provider performing the credential and token flows behind the /auth endpoints.
+ * 
+ * The active implementation is selected with app.identity-provider.type
+ * ("cognito" by default, "local" for the in-process stand-in).
+ */
+public interface IdentityProvider {
+    
+    /**
+     * Authenticate with email and password, possibly requiring an MFA step
+     */
+    LoginResponseDto login(LoginRequestDto request);
+    
+    /**
+     * Register a new user account
+     */
+    RegisterResponseDto register(RegisterRequestDto request);
+    
+    /**
+     * Complete a login that required MFA
+     */
+    MfaVerificationResponseDto verifyMfa(MfaVerificationRequestDto request);
+    
+    /**
+     * Start the password reset flow
+     */
+    ForgotPasswordResponseDto forgotPassword(ForgotPasswordRequestDto request);
+    
+    /**
+     * Exchange an OAuth2 authorization code for tokens
+     */
+    Map<String, Object> exchangeAuthorizationCode(String code, String redirectUri);
+}
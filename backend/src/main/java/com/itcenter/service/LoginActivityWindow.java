@@ -0,0 +1,94 @@
+package com.itcenter.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sign-in activity over the last day in fixed memory.
+ *
+ * Logins and failures are counted in a ring of one-minute buckets, and
+ * failures per user in a ring of hourly Space-Saving counters. A bucket is
+ * reused once the slot comes round again, so nothing has to be expired
+ * explicitly. Not thread-safe.
+ */
+final class LoginActivityWindow {
+    
+    static final int MINUTES = 24 * 60;
+    static final int HOURS = 24;
+    
+    private final long[] bucketMinute = new long[MINUTES];
+    private final long[] logins = new long[MINUTES];
+    private final long[] failures = new long[MINUTES];
+    private final long[] bucketHour = new long[HOURS];
+    private final SpaceSavingCounter[] failuresByUser = new SpaceSavingCounter[HOURS];
+    private final int userCapacity;
+    
+    LoginActivityWindow(int userCapacity) {
+        this.userCapacity = userCapacity;
+        Arrays.fill(bucketMinute, Long.MIN_VALUE);
+        Arrays.fill(bucketHour, Long.MIN_VALUE);
+    }
+    
+    void add(long epochMinute, long loginCount, long failureCount) {
+        int slot = Math.floorMod(epochMinute, MINUTES);
+        if (bucketMinute[slot] != epochMinute) {
+            if (bucketMinute[slot] > epochMinute) {
+                // Older than the window
+                return;
+            }
+            bucketMinute[slot] = epochMinute;
+            logins[slot] = 0;
+            failures[slot] = 0;
+        }
+        logins[slot] += loginCount;
+        failures[slot] += failureCount;
+    }
+    
+    void addUserFailures(long epochHour, String userId, long count) {
+        int slot = Math.floorMod(epochHour, HOURS);
+        if (bucketHour[slot] != epochHour) {
+            if (bucketHour[slot] > epochHour) {
+                return;
+            }
+            bucketHour[slot] = epochHour;
+            failuresByUser[slot] = new SpaceSavingCounter(userCapacity);
+        }
+        failuresByUser[slot].add(userId, count);
+    }
+    
+    long logins(long nowMinute, int minutes) {
+        return sum(logins, nowMinute, minutes);
+    }
+    
+    long failures(long nowMinute, int minutes) {
+        return sum(failures, nowMinute, minutes);
+    }
+    
+    /**
+     * Users with the most failures over the last day, highest first; counts are estimates
+     */
+    List<Map.Entry<String, Long>> topFailedUsers(long nowHour, int limit) {
+        Map<String, Long> totals = new HashMap<>();
+        for (int slot = 0; slot < HOURS; slot++) {
+            if (failuresByUser[slot] != null && bucketHour[slot] > nowHour - HOURS && bucketHour[slot] <= nowHour) {
+                failuresByUser[slot].addTo(totals);
+            }
+        }
+        List<Map.Entry<String, Long>> top = new ArrayList<>(totals.entrySet());
+        top.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        return top.size() > limit ? top.subList(0, limit) : top;
+    }
+    
+    private long sum(long[] counts, long nowMinute, int minutes) {
+        long total = 0;
+        for (int slot = 0; slot < MINUTES; slot++) {
+            if (bucketMinute[slot] > nowMinute - minutes && bucketMinute[slot] <= nowMinute) {
+                total += counts[slot];
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,136 @@
+package com.itcenter.service;
+
+import com.itcenter.config.ReactiveReadDatabase;
+import com.itcenter.dto.AuditLogDto;
+import com.itcenter.dto.UserManagementDto;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service for streaming read-only audit and user listings over R2DBC.
+ * 
+ * Rows are fetched from a server-side cursor in batches driven by downstream
+ * demand, so a slow dashboard client slows the query down instead of
+ * buffering the whole result set, and no thread is held while waiting.
+ */
+@Service
+public class ReactiveReadService {
+    
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+    private final int maxRows;
+    
+    public ReactiveReadService(ReactiveReadDatabase reactiveReadDatabase,
+                               @Value("${app.reactive-read.fetch-size:100}") int fetchSize,
+                               @Value("${app.reactive-read.max-rows:10000}") int maxRows) {
+        this.databaseClient = reactiveReadDatabase.getClient();
+        this.fetchSize = fetchSize;
+        this.maxRows = maxRows;
+    }
+    
+    /**
+     * Stream audit logs, newest first, with the same filters as the paged endpoint
+     */
+    public Flux<AuditLogDto> streamAuditLogs(String userId, String eventType,
+                                             LocalDateTime startDate, LocalDateTime endDate, int limit) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder(
+            "SELECT la.id, la.user_id, u.email, u.display_name, la.event_type, host(la.ip_address) AS ip_address, " +
+            "la.user_agent, la.success, la.failure_reason, la.session_id, la.created_at " +
+            "FROM login_audit la JOIN app_users u ON u.user_id = la.user_id WHERE 1 = 1");
+        if (userId != null) {
+            sql.append(" AND la.user_id = :userId");
+            params.put("userId", userId);
+        }
+        if (eventType != null) {
+            sql.append(" AND la.event_type = :eventType");
+            params.put("eventType", eventType);
+        }
+        if (startDate != null) {
+            sql.append(" AND la.created_at >= :startDate");
+            params.put("startDate", startDate);
+        }
+        if (endDate != null) {
+            sql.append(" AND la.created_at <= :endDate");
+            params.put("endDate", endDate);
+        }
+        sql.append(" ORDER BY la.created_at DESC LIMIT :limit");
+        params.put("limit", clampLimit(limit));
+        
+        return query(sql.toString(), params).map(ReactiveReadService::toAuditLogDto).all();
+    }
+    
+    /**
+     * Stream users, newest first, optionally filtered by name or email
+     */
+    public Flux<UserManagementDto> streamUsers(String query, int limit) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder(
+            "SELECT u.user_id, u.email, u.display_name, u.locale, u.created_at, u.updated_at, " +
+            "(SELECT MAX(la.created_at) FROM login_audit la WHERE la.user_id = u.user_id " +
+            "AND la.event_type = 'LOGIN' AND la.success = true) AS last_login_at, " +
+            "(SELECT string_agg(r.name, ',') FROM user_roles ur JOIN roles r ON r.role_id = ur.role_id " +
+            "WHERE ur.user_id = u.user_id) AS roles " +
+            "FROM app_users u");
+        if (query != null && !query.trim().isEmpty()) {
+            sql.append(" WHERE LOWER(u.display_name) LIKE :query OR LOWER(u.email) LIKE :query");
+            params.put("query", "%" + query.trim().toLowerCase(Locale.ROOT) + "%");
+        }
+        sql.append(" ORDER BY u.created_at DESC LIMIT :limit");
+        params.put("limit", clampLimit(limit));
+        
+        return query(sql.toString(), params).map(ReactiveReadService::toUserManagementDto).all();
+    }
+    
+    private DatabaseClient.GenericExecuteSpec query(String sql, Map<String, Object> params) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+            .filter(statement -> statement.fetchSize(fetchSize));
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return spec;
+    }
+    
+    private int clampLimit(int limit) {
+        return limit <= 0 ? maxRows : Math.min(limit, maxRows);
+    }
+    
+    private static AuditLogDto toAuditLogDto(Readable row) {
+        AuditLogDto dto = new AuditLogDto(
+            row.get("user_id", String.class), row.get("event_type", String.class), row.get("ip_address", String.class));
+        dto.setId(row.get("id", Long.class));
+        dto.setUserEmail(row.get("email", String.class));
+        dto.setUserDisplayName(row.get("display_name", String.class));
+        dto.setUserAgent(row.get("user_agent", String.class));
+        dto.setSuccess(row.get("success", Boolean.class));
+        dto.setFailureReason(row.get("failure_reason", String.class));
+        dto.setSessionId(row.get("session_id", String.class));
+        dto.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        return dto;
+    }
+    
+    private static UserManagementDto toUserManagementDto(Readable row) {
+        UserManagementDto dto = new UserManagementDto(
+            row.get("user_id", String.class), row.get("email", String.class), row.get("display_name", String.class));
+        dto.setLocale(row.get("locale", String.class));
+        dto.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        dto.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        dto.setLastLoginAt(row.get("last_login_at", LocalDateTime.class));
+        String roles = row.get("roles", String.class);
+        Set<String> roleNames = roles == null ? Set.of() : Arrays.stream(roles.split(",")).collect(Collectors.toSet());
+        dto.setRoles(roleNames);
+        dto.setActive(true);
+        return dto;
+    }
+}
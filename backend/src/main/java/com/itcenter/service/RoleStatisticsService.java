@@ -0,0 +1,120 @@
+package com.itcenter.service;
+
+import com.itcenter.dto.RoleStatisticsDto;
+import com.itcenter.repository.RoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service keeping the number of users per role in memory.
+ *
+ * Counters move with every role assignment made through this node, once its
+ * transaction commits, and are reset from a single grouped query on startup
+ * and at a fixed interval. That reconciliation picks up changes made by other
+ * nodes and corrects any drift, such as a write racing the previous reset.
+ */
+@Service
+public class RoleStatisticsService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RoleStatisticsService.class);
+    
+    private final RoleRepository roleRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<String, AtomicLong> usersByRole = new ConcurrentHashMap<>();
+    
+    private volatile Instant reconciledAt;
+    
+    public RoleStatisticsService(RoleRepository roleRepository, PlatformTransactionManager transactionManager) {
+        this.roleRepository = roleRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+    
+    /**
+     * Users per role, answered from memory
+     */
+    public RoleStatisticsDto getRoleStatistics() {
+        Map<String, Long> counts = new TreeMap<>();
+        usersByRole.forEach((role, count) -> counts.put(role, Math.max(0, count.get())));
+        return new RoleStatisticsDto(counts, reconciledAt);
+    }
+    
+    /**
+     * Record a change to one user's roles; applied after commit when called in a transaction
+     */
+    public void recordRoleChange(Collection<String> removed, Collection<String> added) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyRoleChange(removed, added);
+                }
+            });
+        } else {
+            applyRoleChange(removed, added);
+        }
+    }
+    
+    /**
+     * Reset the counters from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.stats.roles.reconcile-interval-ms:60000}",
+               initialDelayString = "${app.stats.roles.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        List<RoleRepository.RoleUserCount> counts;
+        try {
+            counts = readOnlyTransaction.execute(status -> roleRepository.countUsersByRole());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to reconcile role statistics, keeping current counts", e);
+            return;
+        }
+        if (counts == null) {
+            return;
+        }
+        
+        long corrected = 0;
+        for (RoleRepository.RoleUserCount count : counts) {
+            long previous = usersByRole.computeIfAbsent(count.getRoleName(), role -> new AtomicLong())
+                .getAndSet(count.getUsers());
+            if (reconciledAt != null && previous != count.getUsers()) {
+                corrected++;
+            }
+        }
+        usersByRole.keySet().retainAll(counts.stream().map(RoleRepository.RoleUserCount::getRoleName).toList());
+        reconciledAt = Instant.now();
+        
+        if (corrected > 0) {
+            logger.info("Role statistics reconciled, {} role counts corrected", corrected);
+        }
+    }
+    
+    private void applyRoleChange(Collection<String> removed, Collection<String> added) {
+        for (String role : removed) {
+            if (!added.contains(role)) {
+                usersByRole.computeIfAbsent(role, r -> new AtomicLong()).decrementAndGet();
+            }
+        }
+        for (String role : added) {
+            if (!removed.contains(role)) {
+                usersByRole.computeIfAbsent(role, r -> new AtomicLong()).incrementAndGet();
+            }
+        }
+    }
+}
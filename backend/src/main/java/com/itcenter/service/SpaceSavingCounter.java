@@ -0,0 +1,54 @@
+package com.itcenter.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Space-Saving top-k counter.
+ *
+ * Tracks at most capacity keys. A new key arriving when all slots are taken
+ * replaces the smallest counter and inherits its count, so counts may be
+ * over-estimated by that amount but any key seen more than total/capacity
+ * times is always kept. Not thread-safe.
+ */
+final class SpaceSavingCounter {
+    
+    private final int capacity;
+    private final Map<String, Long> counts;
+    
+    SpaceSavingCounter(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.counts = new HashMap<>(this.capacity * 2);
+    }
+    
+    void add(String key, long increment) {
+        Long current = counts.get(key);
+        if (current != null) {
+            counts.put(key, current + increment);
+            return;
+        }
+        if (counts.size() < capacity) {
+            counts.put(key, increment);
+            return;
+        }
+        
+        // Linear scan: capacity is small and this only runs for keys not already tracked
+        String smallestKey = null;
+        long smallest = Long.MAX_VALUE;
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            if (entry.getValue() < smallest) {
+                smallest = entry.getValue();
+                smallestKey = entry.getKey();
+            }
+        }
+        counts.remove(smallestKey);
+        counts.put(key, smallest + increment);
+    }
+    
+    /**
+     * Add this counter's estimates to a running total
+     */
+    void addTo(Map<String, Long> totals) {
+        counts.forEach((key, count) -> totals.merge(key, count, Long::sum));
+    }
+}
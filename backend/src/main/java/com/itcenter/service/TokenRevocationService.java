@@ -0,0 +1,293 @@
+package com.itcenter.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service for revoking access tokens before they expire.
+ *
+ * Revoked token ids (jti) are kept in memory until their expiry, fronted by a
+ * Bloom filter so that validating a non-revoked token costs a few hashes.
+ * Every revocation is appended to a local journal which is replayed on startup
+ * and compacted when expired entries are purged.
+ */
+@Service
+public class TokenRevocationService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+    
+    private static final String TOKEN_RECORD = "T";
+    private static final String SUBJECT_RECORD = "U";
+    private static final String SUBJECT_KEY_PREFIX = "sub:";
+    
+    private final Path journalPath;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final long maxTokenLifetimeSeconds;
+    
+    // jti -> token expiry
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    // subject -> instant before which every issued token is revoked
+    private final Map<String, Instant> revokedSubjects = new ConcurrentHashMap<>();
+    
+    // ReentrantLock rather than synchronized: journal I/O under a monitor would pin virtual threads
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile RevocationBloomFilter bloomFilter;
+    private BufferedWriter journal;
+    
+    public TokenRevocationService(
+            @Value("${app.security.revocation.journal-file:data/revoked-tokens.log}") String journalFile,
+            @Value("${app.security.revocation.expected-insertions:100000}") long expectedInsertions,
+            @Value("${app.security.revocation.false-positive-rate:0.001}") double falsePositiveRate,
+            @Value("${app.security.revocation.max-token-lifetime-seconds:86400}") long maxTokenLifetimeSeconds) {
+        this.journalPath = Paths.get(journalFile);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxTokenLifetimeSeconds = maxTokenLifetimeSeconds;
+        this.bloomFilter = new RevocationBloomFilter(expectedInsertions, falsePositiveRate);
+    }
+    
+    /**
+     * Replay the journal and open it for appending
+     */
+    @PostConstruct
+    public void loadJournal() {
+        writeLock.lock();
+        try {
+            if (journalPath.getParent() != null) {
+                Files.createDirectories(journalPath.getParent());
+            }
+            if (Files.exists(journalPath)) {
+                replay();
+            }
+            rebuildAndCompact();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open token revocation journal: " + journalPath, e);
+        } finally {
+            writeLock.unlock();
+        }
+        logger.info("Loaded {} revoked tokens and {} revoked users from {}",
+            revokedTokens.size(), revokedSubjects.size(), journalPath);
+    }
+    
+    /**
+     * Check whether a token has been revoked, either individually or for its subject
+     */
+    public boolean isRevoked(String tokenId, String subject, Instant issuedAt) {
+        RevocationBloomFilter filter = bloomFilter;
+        
+        if (tokenId != null && filter.mightContain(tokenId) && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+        
+        if (subject != null && filter.mightContain(SUBJECT_KEY_PREFIX + subject)) {
+            Instant revokedBefore = revokedSubjects.get(subject);
+            return revokedBefore != null && (issuedAt == null || !issuedAt.isAfter(revokedBefore));
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Revoke a single token until it expires
+     */
+    public void revokeToken(String tokenId, Instant expiresAt) {
+        requireJournalSafe(tokenId);
+        Instant expiry = expiresAt != null ? expiresAt : Instant.now().plusSeconds(maxTokenLifetimeSeconds);
+        if (!expiry.isAfter(Instant.now())) {
+            logger.info("Ignoring revocation of already expired token: {}", tokenId);
+            return;
+        }
+        
+        writeLock.lock();
+        try {
+            revokedTokens.merge(tokenId, expiry, (a, b) -> a.isAfter(b) ? a : b);
+            bloomFilter.put(tokenId);
+            append(TOKEN_RECORD, expiry, tokenId);
+        } finally {
+            writeLock.unlock();
+        }
+        logger.info("Revoked token: {} until {}", tokenId, expiry);
+    }
+    
+    /**
+     * Revoke every token issued to a user up to now
+     */
+    public Instant revokeAllForUser(String subject) {
+        requireJournalSafe(subject);
+        Instant revokedBefore = Instant.now();
+        writeLock.lock();
+        try {
+            revokedSubjects.merge(subject, revokedBefore, (a, b) -> a.isAfter(b) ? a : b);
+            bloomFilter.put(SUBJECT_KEY_PREFIX + subject);
+            append(SUBJECT_RECORD, revokedBefore, subject);
+        } finally {
+            writeLock.unlock();
+        }
+        logger.info("Revoked all tokens for user: {} issued before {}", subject, revokedBefore);
+        return revokedBefore;
+    }
+    
+    /**
+     * Drop expired entries, rebuild the Bloom filter and compact the journal
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.purge-interval-ms:300000}",
+               initialDelayString = "${app.security.revocation.purge-interval-ms:300000}")
+    public void purgeExpired() {
+        writeLock.lock();
+        try {
+            int tokensBefore = revokedTokens.size();
+            int subjectsBefore = revokedSubjects.size();
+            try {
+                rebuildAndCompact();
+            } catch (IOException e) {
+                logger.error("Failed to compact token revocation journal: {}", journalPath, e);
+                return;
+            }
+            logger.info("Purged {} expired token and {} expired user revocations",
+                tokensBefore - revokedTokens.size(), subjectsBefore - revokedSubjects.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    public int getRevokedTokenCount() {
+        return revokedTokens.size();
+    }
+    
+    public int getRevokedUserCount() {
+        return revokedSubjects.size();
+    }
+    
+    @PreDestroy
+    public void close() {
+        writeLock.lock();
+        try {
+            closeJournal();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    private static void requireJournalSafe(String key) {
+        if (key == null || key.isBlank() || key.chars().anyMatch(Character::isWhitespace)) {
+            throw new RuntimeException("Invalid revocation key: " + key);
+        }
+    }
+    
+    private void replay() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(" ", 3);
+                if (parts.length != 3) {
+                    continue;
+                }
+                Instant instant;
+                try {
+                    instant = Instant.ofEpochSecond(Long.parseLong(parts[1]));
+                } catch (NumberFormatException e) {
+                    logger.warn("Skipping malformed revocation journal entry: {}", line);
+                    continue;
+                }
+                if (TOKEN_RECORD.equals(parts[0])) {
+                    revokedTokens.merge(parts[2], instant, (a, b) -> a.isAfter(b) ? a : b);
+                } else if (SUBJECT_RECORD.equals(parts[0])) {
+                    revokedSubjects.merge(parts[2], instant, (a, b) -> a.isAfter(b) ? a : b);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Must be called while holding the write lock
+     */
+    private void rebuildAndCompact() throws IOException {
+        Instant now = Instant.now();
+        revokedTokens.values().removeIf(expiry -> !expiry.isAfter(now));
+        revokedSubjects.values().removeIf(revokedBefore ->
+            !revokedBefore.plusSeconds(maxTokenLifetimeSeconds).isAfter(now));
+        
+        long liveEntries = revokedTokens.size() + revokedSubjects.size();
+        RevocationBloomFilter filter = new RevocationBloomFilter(
+            Math.max(expectedInsertions, liveEntries * 2), falsePositiveRate);
+        revokedTokens.keySet().forEach(filter::put);
+        revokedSubjects.keySet().forEach(subject -> filter.put(SUBJECT_KEY_PREFIX + subject));
+        bloomFilter = filter;
+        
+        // The current writer stays open until the compacted file is in place,
+        // so a failure here leaves appends going to the old journal
+        Path compacted = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(compacted, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Instant> entry : revokedTokens.entrySet()) {
+                    writeRecord(writer, TOKEN_RECORD, entry.getValue(), entry.getKey());
+                }
+                for (Map.Entry<String, Instant> entry : revokedSubjects.entrySet()) {
+                    writeRecord(writer, SUBJECT_RECORD, entry.getValue(), entry.getKey());
+                }
+            }
+            Files.move(compacted, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            closeJournal();
+            journal = Files.newBufferedWriter(journalPath, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+    
+    private void append(String type, Instant instant, String key) {
+        if (journal == null) {
+            // Reopening the journal failed; the in-memory revocation is still in force
+            logger.error("Token revocation journal {} is not open, revocation of {} is not persisted (durability lost)",
+                journalPath, key);
+            return;
+        }
+        try {
+            writeRecord(journal, type, instant, key);
+            journal.flush();
+        } catch (IOException e) {
+            // The in-memory revocation is still in force; only durability is lost
+            logger.error("Failed to persist revocation of {} to {}", key, journalPath, e);
+        }
+    }
+    
+    private static void writeRecord(BufferedWriter writer, String type, Instant instant, String key) throws IOException {
+        writer.write(type);
+        writer.write(' ');
+        writer.write(Long.toString(instant.getEpochSecond()));
+        writer.write(' ');
+        writer.write(key);
+        writer.newLine();
+    }
+    
+    private void closeJournal() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close token revocation journal: {}", journalPath, e);
+            }
+            journal = null;
+        }
+    }
+}
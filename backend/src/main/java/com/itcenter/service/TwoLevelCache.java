@@ -0,0 +1,355 @@
+package com.itcenter.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * In-process near cache backed by a shared Redis tier.
+ *
+ * Every entry carries its own expiry, written into the Redis value and used
+ * for the near copy as well, so both tiers drop it at the same moment. When
+ * Redis fails the cache stops using it for a cool-down period and serves
+ * from the near tier alone; Redis errors never reach callers.
+ *
+ * Evictions always try Redis, cool-down or not. A key whose DEL failed is
+ * not read from Redis again until the DEL has been retried successfully,
+ * which happens before the next Redis operation once Redis is back. When
+ * more keys are pending than the near tier holds, the whole cache is
+ * flushed from Redis instead.
+ */
+public class TwoLevelCache<V> {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCache.class);
+    
+    private final String name;
+    private final Cache<String, Entry<V>> near;
+    private final RedisConnectionFactory redis;
+    private final CacheCodec<V> codec;
+    private final String keyPrefix;
+    private final long retryAfterFailureMs;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter redisErrors;
+    private final long maximumPendingEvictions;
+    
+    // Keys whose Redis copy may be stale because their eviction failed
+    private final Set<String> pendingEvictions = ConcurrentHashMap.newKeySet();
+    
+    private volatile boolean flushPending;
+    private volatile long redisDownUntil;
+    
+    /**
+     * @param redis null for a near-only cache
+     */
+    public TwoLevelCache(String name, long nearMaximumSize, RedisConnectionFactory redis, CacheCodec<V> codec,
+                         long retryAfterFailureMs, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.redis = redis;
+        this.codec = codec;
+        this.keyPrefix = "itcenter:" + name + ":";
+        this.retryAfterFailureMs = retryAfterFailureMs;
+        this.maximumPendingEvictions = nearMaximumSize;
+        this.near = Caffeine.newBuilder()
+            .maximumSize(nearMaximumSize)
+            .expireAfter(new Expiry<String, Entry<V>>() {
+                @Override
+                public long expireAfterCreate(String key, Entry<V> entry, long currentTime) {
+                    return entry.remainingNanos();
+                }
+                
+                @Override
+                public long expireAfterUpdate(String key, Entry<V> entry, long currentTime, long currentDuration) {
+                    return entry.remainingNanos();
+                }
+                
+                @Override
+                public long expireAfterRead(String key, Entry<V> entry, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+        
+        CaffeineCacheMetrics.monitor(meterRegistry, near, name);
+        this.redisHits = redisCounter(meterRegistry, "hit");
+        this.redisMisses = redisCounter(meterRegistry, "miss");
+        this.redisErrors = redisCounter(meterRegistry, "error");
+        Gauge.builder("cache.redis.available", this, cache -> cache.redisAvailable() ? 1 : 0)
+            .description("Whether the shared tier is in use")
+            .tag("cache", name)
+            .register(meterRegistry);
+        Gauge.builder("cache.redis.pending.evictions", this, cache -> cache.flushPending ? -1 : cache.pendingEvictions.size())
+            .description("Evictions waiting for Redis to come back; -1 while a flush of the whole cache is pending")
+            .tag("cache", name)
+            .register(meterRegistry);
+    }
+    
+    public V get(String key) {
+        Entry<V> entry = near.getIfPresent(key);
+        if (entry != null) {
+            return entry.value();
+        }
+        if (!useRedis() || pendingEvictions.contains(key)) {
+            return null;
+        }
+        
+        byte[] raw = withRedis(connection -> connection.stringCommands().get(redisKey(key)));
+        Entry<V> loaded = decode(raw);
+        if (loaded == null) {
+            redisMisses.increment();
+            return null;
+        }
+        redisHits.increment();
+        near.put(key, loaded);
+        return loaded.value();
+    }
+    
+    /**
+     * Look up many keys with one Redis round trip for whatever the near tier misses
+     */
+    public Map<String, V> getAll(Collection<String> keys) {
+        Map<String, V> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String key : keys) {
+            Entry<V> entry = near.getIfPresent(key);
+            if (entry != null) {
+                found.put(key, entry.value());
+            } else {
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty() || !useRedis()) {
+            return found;
+        }
+        missing.removeAll(pendingEvictions);
+        if (missing.isEmpty()) {
+            return found;
+        }
+        
+        byte[][] redisKeys = missing.stream().map(this::redisKey).toArray(byte[][]::new);
+        List<byte[]> values = withRedis(connection -> connection.stringCommands().mGet(redisKeys));
+        if (values == null) {
+            return found;
+        }
+        for (int i = 0; i < missing.size() && i < values.size(); i++) {
+            Entry<V> loaded = decode(values.get(i));
+            if (loaded == null) {
+                redisMisses.increment();
+                continue;
+            }
+            redisHits.increment();
+            near.put(missing.get(i), loaded);
+            found.put(missing.get(i), loaded.value());
+        }
+        return found;
+    }
+    
+    public void put(String key, V value, Duration ttl) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+        Entry<V> entry = new Entry<>(value, System.currentTimeMillis() + ttl.toMillis());
+        near.put(key, entry);
+        if (useRedis()) {
+            byte[] encoded = encode(entry);
+            if (encoded != null) {
+                Boolean stored = withRedis(connection -> connection.stringCommands().set(redisKey(key), encoded,
+                    Expiration.milliseconds(ttl.toMillis()), RedisStringCommands.SetOption.upsert()));
+                if (stored != null) {
+                    // Overwrote whatever the failed eviction left behind
+                    pendingEvictions.remove(key);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Remove from both tiers; other nodes still need to drop their near copy.
+     * 
+     * Redis is tried even during the cool-down; if the DEL fails the key is
+     * deleted once Redis is back and is not read from Redis until then.
+     */
+    public void evict(String key) {
+        near.invalidate(key);
+        if (redis == null) {
+            return;
+        }
+        Long deleted = withRedis(connection -> connection.keyCommands().del(redisKey(key)));
+        if (deleted == null) {
+            addPendingEviction(key);
+        }
+    }
+    
+    public void evictLocal(String key) {
+        near.invalidate(key);
+    }
+    
+    public void evictAllLocal() {
+        near.invalidateAll();
+    }
+    
+    /**
+     * Whether Redis may be used, after first retrying evictions that failed while it was down
+     */
+    private boolean useRedis() {
+        if (!redisAvailable()) {
+            return false;
+        }
+        if (flushPending) {
+            retryFlush();
+        } else if (!pendingEvictions.isEmpty()) {
+            retryPendingEvictions();
+        }
+        return redisAvailable() && !flushPending;
+    }
+    
+    private void addPendingEviction(String key) {
+        if (flushPending) {
+            return;
+        }
+        pendingEvictions.add(key);
+        if (pendingEvictions.size() > maximumPendingEvictions) {
+            logger.warn("More than {} evictions pending for cache {}, the whole cache is flushed once Redis is back",
+                maximumPendingEvictions, name);
+            flushPending = true;
+            pendingEvictions.clear();
+        }
+    }
+    
+    private void retryPendingEvictions() {
+        List<String> keys = List.copyOf(pendingEvictions);
+        byte[][] redisKeys = keys.stream().map(this::redisKey).toArray(byte[][]::new);
+        if (withRedis(connection -> connection.keyCommands().del(redisKeys)) != null) {
+            keys.forEach(pendingEvictions::remove);
+            logger.info("Deleted {} entries of cache {} whose eviction failed while Redis was down", keys.size(), name);
+        }
+    }
+    
+    private void retryFlush() {
+        Long deleted = withRedis(connection -> {
+            long count = 0;
+            ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + "*").count(1000).build();
+            List<byte[]> batch = new ArrayList<>();
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() == 1000) {
+                        count += connection.keyCommands().del(batch.toArray(byte[][]::new));
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                count += connection.keyCommands().del(batch.toArray(byte[][]::new));
+            }
+            return count;
+        });
+        if (deleted != null) {
+            flushPending = false;
+            logger.info("Flushed {} entries of cache {} after evictions failed while Redis was down", deleted, name);
+        }
+    }
+    
+    private boolean redisAvailable() {
+        return redis != null && System.currentTimeMillis() >= redisDownUntil;
+    }
+    
+    private <T> T withRedis(Function<RedisConnection, T> action) {
+        try (RedisConnection connection = redis.getConnection()) {
+            T result = action.apply(connection);
+            if (redisDownUntil != 0) {
+                redisDownUntil = 0;
+                logger.info("Redis is reachable again, cache {} uses the shared tier", name);
+            }
+            return result;
+        } catch (DataAccessException e) {
+            redisErrors.increment();
+            if (redisDownUntil == 0) {
+                logger.warn("Redis unavailable, cache {} falls back to the near tier for {} ms: {}",
+                    name, retryAfterFailureMs, e.getMessage());
+            }
+            redisDownUntil = System.currentTimeMillis() + retryAfterFailureMs;
+            return null;
+        }
+    }
+    
+    private byte[] redisKey(String key) {
+        return (keyPrefix + key).getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private byte[] encode(Entry<V> entry) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(entry.expiresAtMillis());
+            codec.write(entry.value(), out);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            logger.warn("Failed to encode entry for cache {}", name, e);
+            return null;
+        }
+    }
+    
+    private Entry<V> decode(byte[] raw) {
+        if (raw == null) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw))) {
+            long expiresAtMillis = in.readLong();
+            if (expiresAtMillis <= System.currentTimeMillis()) {
+                return null;
+            }
+            return new Entry<>(codec.read(in), expiresAtMillis);
+        } catch (IOException e) {
+            // Written by an incompatible version; treat as a miss and let it be overwritten
+            logger.debug("Discarding undecodable entry in cache {}: {}", name, e.getMessage());
+            return null;
+        }
+    }
+    
+    private Counter redisCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.redis.requests")
+            .description("Shared tier lookups after a near-cache miss")
+            .tag("cache", name)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+    
+    private record Entry<V>(V value, long expiresAtMillis) {
+        
+        long remainingNanos() {
+            return Math.max(0, (expiresAtMillis - System.currentTimeMillis()) * 1_000_000L);
+        }
+    }
+}
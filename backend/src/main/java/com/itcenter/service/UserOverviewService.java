@@ -0,0 +1,185 @@
+package com.itcenter.service;
+
+import com.itcenter.config.SqlStatementTracker;
+import com.itcenter.dto.AuditLogDto;
+import com.itcenter.dto.PageResponseDto;
+import com.itcenter.dto.UserManagementDto;
+import com.itcenter.dto.UserOverviewDto;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Service assembling the admin user detail view from independent reads.
+ *
+ * Each read runs on its own virtual thread in its own read-only transaction,
+ * so the view takes as long as the slowest part instead of the sum. All parts
+ * share one deadline; whatever misses it is reported as missing rather than
+ * failing the response. Only the user itself is required. SQL executed by the
+ * parts is credited to the request. Parts run as the caller, so an admin who
+ * has just changed the user reads it from the primary like any other request.
+ *
+ * Parts are not interrupted: an interrupt during a JDBC call closes the
+ * pooled connection. A late part is stopped by its transaction timeout
+ * instead, which Hibernate applies as the query timeout of each statement.
+ */
+@Service
+@Timed(value = "service.method", description = "Service method latency")
+public class UserOverviewService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserOverviewService.class);
+    
+    private final UserService userService;
+    private final AuditService auditService;
+    private final TransactionTemplate partTransaction;
+    private final ExecutorService executor;
+    private final long timeoutMs;
+    private final int auditLogSize;
+    private final int recentLoginLimit;
+    private final MeterRegistry meterRegistry;
+    
+    public UserOverviewService(
+            UserService userService,
+            AuditService auditService,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.user.overview.timeout-ms:1000}") long timeoutMs,
+            @Value("${app.user.overview.audit-log-size:10}") int auditLogSize,
+            @Value("${app.user.overview.recent-logins:5}") int recentLoginLimit) {
+        this.userService = userService;
+        this.auditService = auditService;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMs = timeoutMs;
+        this.auditLogSize = auditLogSize;
+        this.recentLoginLimit = recentLoginLimit;
+        this.partTransaction = new TransactionTemplate(transactionManager);
+        this.partTransaction.setReadOnly(true);
+        // Whole seconds, as JDBC query timeouts are; rounded up so no part is cut short of the deadline
+        this.partTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs + 999)));
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("user-overview-", 0).factory());
+    }
+    
+    public UserOverviewDto getUserOverview(String userId) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        
+        Future<Part<UserManagementDto>> user = fork(() -> userService.getUserById(userId));
+        Future<Part<PageResponseDto<AuditLogDto>>> auditLogs = fork(() -> auditService.getUserAuditLogs(userId,
+            PageRequest.of(0, auditLogSize, Sort.by(Sort.Direction.DESC, "createdAt"))));
+        Future<Part<List<AuditLogDto>>> recentLogins = fork(() -> auditService.getRecentLogins(userId, recentLoginLimit));
+        Future<Part<Boolean>> suspicious = fork(() -> auditService.hasSuspiciousActivity(userId));
+        
+        List<String> missing = new ArrayList<>();
+        UserOverviewDto overview = new UserOverviewDto();
+        overview.setUser(joinRequired(user, deadline));
+        overview.setRecentAuditLogs(join(auditLogs, deadline, "recentAuditLogs", missing));
+        overview.setRecentLogins(join(recentLogins, deadline, "recentLogins", missing));
+        overview.setSuspiciousActivity(join(suspicious, deadline, "suspiciousActivity", missing));
+        
+        if (!missing.isEmpty()) {
+            logger.warn("User overview for {} returned without {}", userId, missing);
+        }
+        overview.setMissing(missing);
+        return overview;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    private <T> Future<Part<T>> fork(Callable<T> task) {
+        SecurityContext caller = SecurityContextHolder.getContext();
+        return executor.submit(() -> {
+            SecurityContextHolder.setContext(caller);
+            SqlStatementTracker.begin();
+            try {
+                // The services' own transactions join this one and inherit its timeout
+                T value = partTransaction.execute(status -> call(task));
+                return new Part<>(value, SqlStatementTracker.current());
+            } finally {
+                SqlStatementTracker.end();
+                SecurityContextHolder.clearContext();
+            }
+        });
+    }
+    
+    private static <T> T call(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+    
+    private <T> T joinRequired(Future<Part<T>> future, long deadline) {
+        try {
+            return await(future, deadline);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Failed to load user", e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Timed out loading user", e);
+        }
+    }
+    
+    private <T> T join(Future<Part<T>> future, long deadline, String part, List<String> missing) {
+        try {
+            return await(future, deadline);
+        } catch (ExecutionException e) {
+            logger.warn("User overview part {} failed", part, e.getCause());
+            recordMissing(part, "error");
+        } catch (TimeoutException e) {
+            recordMissing(part, "timeout");
+        }
+        missing.add(part);
+        return null;
+    }
+    
+    private <T> T await(Future<Part<T>> future, long deadline) throws ExecutionException, TimeoutException {
+        try {
+            Part<T> part = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            SqlStatementTracker.include(part.stats());
+            return part.value();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading user overview", e);
+        }
+    }
+    
+    private void recordMissing(String part, String reason) {
+        Counter.builder("user.overview.missing")
+            .description("User overview parts left out of the response")
+            .tag("part", part)
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+    }
+    
+    private record Part<T>(T value, SqlStatementTracker.Stats stats) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.itcenter.service;
+
+import com.itcenter.dto.UserProfileDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Bounded cache of /me profiles keyed by subject, shared between nodes
+ * through Redis when app.cache.redis.enabled is set.
+ *
+ * Entries live for the configured TTL but never past the expiry of the
+ * token that loaded them. Writers evict through CacheInvalidationBus, which
+ * also reaches the other nodes' near copies.
+ */
+@Component
+public class UserProfileCache {
+    
+    private final TwoLevelCache<UserProfileDto> cache;
+    private final Duration ttl;
+    
+    public UserProfileCache(
+            MeterRegistry meterRegistry,
+            ObjectProvider<RedisConnectionFactory> redisConnectionFactory,
+            @Value("${app.cache.redis.enabled:false}") boolean redisEnabled,
+            @Value("${app.cache.redis.retry-after-failure-ms:5000}") long retryAfterFailureMs,
+            @Value("${app.cache.user-profiles.maximum-size:10000}") long maximumSize,
+            @Value("${app.cache.user-profiles.ttl-seconds:300}") long ttlSeconds) {
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size for the near tier; cache.redis.* for Redis
+        this.cache = new TwoLevelCache<>("user-profiles", maximumSize,
+            redisEnabled ? redisConnectionFactory.getIfAvailable() : null,
+            new UserProfileCodec(), retryAfterFailureMs, meterRegistry);
+    }
+    
+    /**
+     * Cached profile, or null on a miss.
+     * 
+     * Deliberately no get-with-loader: the database load would run inside a
+     * map compute, holding a monitor for the whole query.
+     */
+    public UserProfileDto getIfPresent(String subject) {
+        return cache.get(subject);
+    }
+    
+    /**
+     * Cached profiles for a page of users, with a single Redis round trip
+     */
+    public Map<String, UserProfileDto> getAll(Collection<String> subjects) {
+        return cache.getAll(subjects);
+    }
+    
+    /**
+     * Cache a profile until the TTL elapses or the given token expires, whichever is first
+     */
+    public void put(String subject, UserProfileDto profile, Instant tokenExpiresAt) {
+        Duration lifetime = ttl;
+        if (tokenExpiresAt != null) {
+            Duration untilExpiry = Duration.between(Instant.now(), tokenExpiresAt);
+            if (untilExpiry.compareTo(lifetime) < 0) {
+                lifetime = untilExpiry;
+            }
+        }
+        cache.put(subject, profile, lifetime);
+    }
+    
+    /**
+     * Evict from this node and from Redis
+     */
+    public void evict(String subject) {
+        cache.evict(subject);
+    }
+    
+    /**
+     * Evict this node's copy only, after another node changed the profile
+     */
+    public void evictLocal(String subject) {
+        cache.evictLocal(subject);
+    }
+    
+    public void evictAll() {
+        cache.evictAllLocal();
+    }
+}
@@ -0,0 +1,74 @@
+package com.itcenter.service;
+
+import com.itcenter.dto.UserProfileDto;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Binary form of UserProfileDto; bump VERSION whenever the layout changes
+ */
+public class UserProfileCodec implements CacheCodec<UserProfileDto> {
+    
+    private static final byte VERSION = 1;
+    
+    @Override
+    public void write(UserProfileDto profile, DataOutputStream out) throws IOException {
+        out.writeByte(VERSION);
+        CacheCodec.writeNullableString(out, profile.getUserId());
+        CacheCodec.writeNullableString(out, profile.getEmail());
+        CacheCodec.writeNullableString(out, profile.getDisplayName());
+        CacheCodec.writeNullableString(out, profile.getLocale());
+        writeDateTime(out, profile.getCreatedAt());
+        writeDateTime(out, profile.getUpdatedAt());
+        Set<String> roles = profile.getRoles() != null ? profile.getRoles() : Set.of();
+        out.writeByte(roles.size());
+        for (String role : roles) {
+            out.writeUTF(role);
+        }
+    }
+    
+    @Override
+    public UserProfileDto read(DataInputStream in) throws IOException {
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported profile encoding version: " + version);
+        }
+        UserProfileDto profile = new UserProfileDto();
+        profile.setUserId(CacheCodec.readNullableString(in));
+        profile.setEmail(CacheCodec.readNullableString(in));
+        profile.setDisplayName(CacheCodec.readNullableString(in));
+        profile.setLocale(CacheCodec.readNullableString(in));
+        profile.setCreatedAt(readDateTime(in));
+        profile.setUpdatedAt(readDateTime(in));
+        int roleCount = in.readUnsignedByte();
+        Set<String> roles = new HashSet<>(roleCount * 2);
+        for (int i = 0; i < roleCount; i++) {
+            roles.add(in.readUTF());
+        }
+        profile.setRoles(roles);
+        return profile;
+    }
+    
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+    
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        long seconds = in.readLong();
+        int nanos = in.readInt();
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+}
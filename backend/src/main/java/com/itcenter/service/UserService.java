@@ -9,17 +9,32 @@ import com.itcenter.mapper.UserMapper;
 import com.itcenter.repository.AppUserRepository;
 import com.itcenter.repository.LoginAuditRepository;
 import com.itcenter.repository.RoleRepository;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.Set;
@@ -29,6 +44,7 @@ import java.util.stream.Collectors;
  * Service for user profile management
  */
 @Service
+@Timed(value = "service.method", description = "Service method latency")
 @Transactional
 public class UserService {
     
@@ -39,36 +55,96 @@ public class UserService {
     private final LoginAuditRepository auditRepository;
     private final UserMapper userMapper;
     private final AuditService auditService;
+    private final UserProfileCache userProfileCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final RoleStatisticsService roleStatisticsService;
+    private final DashboardService dashboardService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final int batchLookupLimit;
     
     public UserService(AppUserRepository userRepository,
                       RoleRepository roleRepository,
                       LoginAuditRepository auditRepository,
                       UserMapper userMapper,
-                      AuditService auditService) {
+                      AuditService auditService,
+                      UserProfileCache userProfileCache,
+                      CacheInvalidationBus cacheInvalidationBus,
+                      RoleStatisticsService roleStatisticsService,
+                      DashboardService dashboardService,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${app.user.batch-lookup.max-ids:100}") int batchLookupLimit) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.auditRepository = auditRepository;
         this.userMapper = userMapper;
         this.auditService = auditService;
+        this.userProfileCache = userProfileCache;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.roleStatisticsService = roleStatisticsService;
+        this.dashboardService = dashboardService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.batchLookupLimit = batchLookupLimit;
     }
     
     /**
-     * Get current user's profile
+     * Get current user's profile.
+     * 
+     * Served from UserProfileCache; no transaction is opened unless the
+     * profile has to be loaded, so a cache hit does no database work.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public UserProfileDto getCurrentUserProfile() {
         String userId = getCurrentUserId();
-        AppUser user = userRepository.findById(userId)
-            .orElseGet(() -> createUserFromCognito(userId));
+        UserProfileDto profile = userProfileCache.getIfPresent(userId);
+        if (profile == null) {
+            profile = loadUserProfile(userId);
+            userProfileCache.put(userId, profile, getCurrentTokenExpiry());
+        }
         
         logger.info("Retrieved profile for user: {}", userId);
-        return userMapper.toUserProfileDto(user);
+        return profile;
+    }
+    
+    /**
+     * Weak ETag of the current user's profile, or null before the first sign-in.
+     * 
+     * Taken from the cached profile when there is one, otherwise from a
+     * version lookup that loads no entity.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String getCurrentUserProfileETag() {
+        String userId = getCurrentUserId();
+        UserProfileDto cached = userProfileCache.getIfPresent(userId);
+        if (cached != null) {
+            return EntityTags.weak("profile", userId, cached.getUpdatedAt(), cached.getRoles());
+        }
+        
+        List<AppUserRepository.UserVersion> version = readOnlyTransaction.execute(status ->
+            userRepository.findVersionById(userId));
+        if (version == null || version.isEmpty()) {
+            return null;
+        }
+        return EntityTags.weak("profile", userId, version.get(0).getUpdatedAt(), roleNames(version));
+    }
+    
+    /**
+     * Load the profile that is about to be cached, creating the user on first sign-in.
+     * 
+     * Read on the primary: the result is cached until the token expires, so a
+     * lagging replica would keep serving a stale profile long after its lag
+     * has cleared.
+     */
+    private UserProfileDto loadUserProfile(String userId) {
+        return writeTransaction.execute(status -> userMapper.toUserProfileDto(
+            userRepository.findById(userId).orElseGet(() -> createUserFromCognito(userId))));
     }
     
     /**
      * Create user record from Cognito JWT token
      */
-    @Transactional
     private AppUser createUserFromCognito(String userId) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (!(authentication.getPrincipal() instanceof org.springframework.security.oauth2.jwt.Jwt)) {
@@ -97,6 +173,8 @@ public class UserService {
         user.addRole(staffRole);
         
         AppUser savedUser = userRepository.save(user);
+        roleStatisticsService.recordRoleChange(Set.of(), Set.of(staffRole.getName()));
+        dashboardService.recordUserCreated();
         
         // Log user creation
         // auditService.logEvent(userId, LoginAudit.EventType.LOGIN, 
@@ -122,6 +200,7 @@ public class UserService {
         }
         
         AppUser savedUser = userRepository.save(user);
+        cacheInvalidationBus.invalidateUser(userId);
         
         // Log the profile update
         auditService.logEvent(userId, LoginAudit.EventType.PROFILE_UPDATED, 
@@ -132,10 +211,14 @@ public class UserService {
     }
     
     /**
-     * Search users with pagination (Admin only)
+     * Search users with pagination (Admin only).
+     * 
+     * Roles and last login are only loaded when the field selection asks for
+     * them, each with one query for the whole page; roles of users with a
+     * cached profile come from the cache.
      */
     @Transactional(readOnly = true)
-    public PageResponseDto<UserManagementDto> searchUsers(String query, Pageable pageable) {
+    public PageResponseDto<UserManagementDto> searchUsers(String query, Pageable pageable, FieldSelection fields) {
         Page<AppUser> users;
         
         if (query == null || query.trim().isEmpty()) {
@@ -144,14 +227,55 @@ public class UserService {
             users = userRepository.searchUsers(query.trim(), pageable);
         }
         
+        List<String> userIds = users.getContent().stream()
+            .map(AppUser::getUserId)
+            .toList();
+        boolean withRoles = fields.includes("roles");
+        boolean withLastLogin = fields.includes("lastLoginAt");
+        Map<String, Set<String>> roles = withRoles ? loadRoleNames(userIds) : Map.of();
+        Map<String, LocalDateTime> lastLogins = withLastLogin ? loadLastLogins(userIds) : Map.of();
+        
         List<UserManagementDto> userDtos = users.getContent().stream()
-            .map(userMapper::toUserManagementDto)
+            .map(user -> {
+                UserManagementDto dto = userMapper.toUserManagementDtoWithoutAssociations(user);
+                if (withRoles) {
+                    dto.setRoles(roles.getOrDefault(user.getUserId(), Set.of()));
+                }
+                if (withLastLogin) {
+                    dto.setLastLoginAt(lastLogins.get(user.getUserId()));
+                }
+                return dto;
+            })
             .collect(Collectors.toList());
         
         logger.info("Searched users with query: '{}', found {} results", query, users.getTotalElements());
         return userMapper.toPageResponseDto(users, userDtos);
     }
     
+    private Map<String, Set<String>> loadRoleNames(List<String> userIds) {
+        Map<String, Set<String>> roles = new HashMap<>();
+        userProfileCache.getAll(userIds).forEach((userId, profile) -> roles.put(userId, profile.getRoles()));
+        
+        List<String> uncached = userIds.stream().filter(id -> !roles.containsKey(id)).toList();
+        if (!uncached.isEmpty()) {
+            for (AppUserRepository.UserRoleName role : userRepository.findRoleNamesByUserIds(uncached)) {
+                roles.computeIfAbsent(role.getUserId(), id -> new HashSet<>()).add(role.getRoleName());
+            }
+        }
+        return roles;
+    }
+    
+    private Map<String, LocalDateTime> loadLastLogins(List<String> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, LocalDateTime> lastLogins = new HashMap<>();
+        for (LoginAuditRepository.UserLastLogin login : auditRepository.findLastSuccessfulLoginsByUserIds(userIds)) {
+            lastLogins.put(login.getUserId(), login.getLastLoginAt());
+        }
+        return lastLogins;
+    }
+    
     /**
      * Get user by ID (Admin only)
      */
@@ -164,6 +288,85 @@ public class UserService {
         return userMapper.toUserManagementDto(user);
     }
     
+    /**
+     * Look up several users at once (Admin only).
+     * 
+     * Cached profiles are used as they are; the rest are loaded with one IN
+     * query for the users and one for their roles, so the statement count
+     * does not grow with the number of IDs.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BatchUserLookupResponseDto getUsersByIds(Collection<String> userIds) {
+        Set<String> ids = new LinkedHashSet<>(userIds);
+        if (ids.size() > batchLookupLimit) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "At most " + batchLookupLimit + " user IDs can be looked up at once");
+        }
+        
+        Map<String, UserProfileDto> found = new LinkedHashMap<>(userProfileCache.getAll(ids));
+        List<String> toLoad = ids.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!toLoad.isEmpty()) {
+            Map<String, UserProfileDto> loaded = readOnlyTransaction.execute(status -> loadUserProfiles(toLoad));
+            if (loaded != null) {
+                found.putAll(loaded);
+            }
+        }
+        
+        Map<String, UserProfileDto> users = new LinkedHashMap<>();
+        List<String> notFound = new ArrayList<>();
+        for (String id : ids) {
+            UserProfileDto profile = found.get(id);
+            if (profile != null) {
+                users.put(id, profile);
+            } else {
+                notFound.add(id);
+            }
+        }
+        
+        logger.info("Batch lookup of {} users, {} from cache, {} not found",
+            ids.size(), ids.size() - toLoad.size(), notFound.size());
+        return new BatchUserLookupResponseDto(users, notFound);
+    }
+    
+    private Map<String, UserProfileDto> loadUserProfiles(List<String> userIds) {
+        Map<String, UserProfileDto> profiles = new HashMap<>();
+        for (AppUser user : userRepository.findByUserIdIn(userIds)) {
+            UserProfileDto profile = userMapper.toUserProfileDtoWithoutRoles(user);
+            profile.setRoles(new HashSet<>());
+            profiles.put(user.getUserId(), profile);
+        }
+        if (profiles.isEmpty()) {
+            return profiles;
+        }
+        for (AppUserRepository.UserRoleName role : userRepository.findRoleNamesByUserIds(profiles.keySet())) {
+            UserProfileDto profile = profiles.get(role.getUserId());
+            if (profile != null) {
+                profile.getRoles().add(role.getRoleName());
+            }
+        }
+        return profiles;
+    }
+    
+    /**
+     * Weak ETag of a user's details (Admin only), or null if the user does not exist
+     */
+    @Transactional(readOnly = true)
+    public String getUserETag(String userId) {
+        List<AppUserRepository.UserVersion> version = userRepository.findVersionById(userId);
+        if (version.isEmpty()) {
+            return null;
+        }
+        return EntityTags.weak("user", userId, version.get(0).getUpdatedAt(), roleNames(version),
+            auditRepository.findLastSuccessfulLoginAt(userId));
+    }
+    
+    private static Set<String> roleNames(List<AppUserRepository.UserVersion> version) {
+        return version.stream()
+            .map(AppUserRepository.UserVersion::getRoleName)
+            .filter(java.util.Objects::nonNull)
+            .collect(Collectors.toSet());
+    }
+    
     /**
      * Update user roles (Admin only)
      */
@@ -171,6 +374,8 @@ public class UserService {
         AppUser user = userRepository.findById(userId)
             .orElseThrow(() -> new RuntimeException("User not found: " + userId));
         
+        Set<String> previousRoles = userMapper.userRolesToRoleNames(user.getUserRoles());
+        
         // Clear existing roles
         user.getUserRoles().clear();
         
@@ -182,6 +387,8 @@ public class UserService {
         }
         
         AppUser savedUser = userRepository.save(user);
+        cacheInvalidationBus.invalidateUser(userId);
+        roleStatisticsService.recordRoleChange(previousRoles, updateDto.getRoles());
         
         // Log role changes
         String currentUserId = getCurrentUserId();
@@ -212,6 +419,17 @@ public class UserService {
         throw new RuntimeException("Unable to extract user ID from authentication");
     }
     
+    /**
+     * Expiry of the access token behind the current request, if known
+     */
+    private Instant getCurrentTokenExpiry() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof org.springframework.security.oauth2.jwt.Jwt jwt) {
+            return jwt.getExpiresAt();
+        }
+        return null;
+    }
+    
     /**
      * Get client IP address (simplified implementation)
      */
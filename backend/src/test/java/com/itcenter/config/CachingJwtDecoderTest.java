@@ -0,0 +1,96 @@
+package com.itcenter.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+class CachingJwtDecoderTest {
+    
+    private static final String TOKEN = "header.payload.signature";
+    
+    private final JwtDecoder delegate = mock(JwtDecoder.class);
+    private final OAuth2TokenValidator<Jwt> validator = mock(OAuth2TokenValidator.class);
+    private final CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, validator, 100, new SimpleMeterRegistry());
+    
+    @Test
+    void repeatTokenSkipsVerificationButIsStillValidated() {
+        Jwt jwt = jwt(Instant.now().plusSeconds(300));
+        when(delegate.decode(TOKEN)).thenReturn(jwt);
+        when(validator.validate(jwt)).thenReturn(OAuth2TokenValidatorResult.success());
+        
+        assertThat(decoder.decode(TOKEN)).isSameAs(jwt);
+        assertThat(decoder.decode(TOKEN)).isSameAs(jwt);
+        assertThat(decoder.decode(TOKEN)).isSameAs(jwt);
+        
+        verify(delegate, times(1)).decode(TOKEN);
+        // The delegate validates the first decode itself
+        verify(validator, times(2)).validate(jwt);
+    }
+    
+    @Test
+    void tokenFailingValidationIsRejectedAndForgotten() {
+        Jwt jwt = jwt(Instant.now().plusSeconds(300));
+        when(delegate.decode(TOKEN)).thenReturn(jwt);
+        when(validator.validate(jwt)).thenReturn(
+            OAuth2TokenValidatorResult.failure(new OAuth2Error("invalid_token", "Token has been revoked", null)));
+        decoder.decode(TOKEN);
+        
+        assertThatThrownBy(() -> decoder.decode(TOKEN))
+            .isInstanceOf(JwtValidationException.class)
+            .hasMessage("Token has been revoked");
+        
+        when(delegate.decode(TOKEN)).thenThrow(new BadJwtException("Token has been revoked"));
+        assertThatThrownBy(() -> decoder.decode(TOKEN)).isInstanceOf(BadJwtException.class);
+        verify(delegate, times(2)).decode(TOKEN);
+    }
+    
+    @Test
+    void tokenWithoutExpiryIsNotRemembered() {
+        Jwt jwt = jwt(null);
+        when(delegate.decode(TOKEN)).thenReturn(jwt);
+        
+        decoder.decode(TOKEN);
+        decoder.decode(TOKEN);
+        
+        verify(delegate, times(2)).decode(TOKEN);
+        verify(validator, never()).validate(any());
+    }
+    
+    @Test
+    void undecodableTokenIsNotRemembered() {
+        when(delegate.decode(TOKEN)).thenThrow(new BadJwtException("Signed JWT rejected"));
+        
+        assertThatThrownBy(() -> decoder.decode(TOKEN)).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode(TOKEN)).isInstanceOf(BadJwtException.class);
+        
+        verify(delegate, times(2)).decode(TOKEN);
+    }
+    
+    private static Jwt jwt(Instant expiresAt) {
+        Jwt.Builder builder = Jwt.withTokenValue(TOKEN)
+            .header("alg", "RS256")
+            .subject("user-1");
+        if (expiresAt != null) {
+            builder.issuedAt(expiresAt.minusSeconds(3600)).expiresAt(expiresAt);
+        }
+        return builder.build();
+    }
+}
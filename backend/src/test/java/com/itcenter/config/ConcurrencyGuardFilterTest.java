@@ -0,0 +1,55 @@
+package com.itcenter.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyGuardFilterTest {
+    
+    private final ConcurrencyGuardFilter filter =
+        new ConcurrencyGuardFilter(new ObjectMapper(), new SimpleMeterRegistry(), 1, 0);
+    
+    @Test
+    void releasesPermitWhenSynchronousRequestReturns() throws Exception {
+        assertThat(send(new MockFilterChain()).getStatus()).isEqualTo(200);
+        assertThat(send(new MockFilterChain()).getStatus()).isEqualTo(200);
+    }
+    
+    @Test
+    void asyncRequestHoldsPermitUntilItCompletes() throws Exception {
+        MockHttpServletRequest streaming = request();
+        filter.doFilter(streaming, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                request.startAsync();
+            }
+        }));
+        
+        assertThat(send(new MockFilterChain()).getStatus()).isEqualTo(503);
+        
+        streaming.getAsyncContext().complete();
+        
+        assertThat(send(new MockFilterChain()).getStatus()).isEqualTo(200);
+    }
+    
+    private MockHttpServletResponse send(MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(), response, chain);
+        return response;
+    }
+    
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/users/stream");
+        request.setServletPath("/admin/users/stream");
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
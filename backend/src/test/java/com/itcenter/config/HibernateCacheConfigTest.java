@@ -0,0 +1,77 @@
+package com.itcenter.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URISyntaxException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HibernateCacheConfigTest {
+    
+    private final CacheManager cacheManager = cacheManager();
+    
+    @AfterEach
+    void closeCacheManager() {
+        cacheManager.close();
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"roles", "app-users", "app-user-roles", "user-roles",
+                            "default-query-results-region", "default-update-timestamps-region"})
+    void entityAndQueryRegionsAreConfigured(String region) {
+        // Hibernate creates a region itself, with the default policy, when this returns null
+        assertThat(cacheManager.getCache(region)).as(region).isNotNull();
+    }
+    
+    @Test
+    void updateTimestampsNeverEvictOrExpire() {
+        CaffeineConfiguration<?, ?> configuration = configuration("default-update-timestamps-region");
+        
+        assertThat(configuration.getMaximumSize()).isEmpty();
+        assertThat(configuration.getMaximumWeight()).isEmpty();
+        assertThat(configuration.getExpireAfterWrite()).isEmpty();
+        assertThat(configuration.getExpireAfterAccess()).isEmpty();
+    }
+    
+    @Test
+    void rolesAreKeptUntilRestart() {
+        CaffeineConfiguration<?, ?> configuration = configuration("roles");
+        
+        assertThat(configuration.getMaximumSize()).hasValue(100);
+        assertThat(configuration.getExpireAfterWrite()).isEmpty();
+    }
+    
+    @Test
+    void userRegionsExpire() {
+        CaffeineConfiguration<?, ?> configuration = configuration("app-users");
+        
+        assertThat(configuration.getMaximumSize()).hasValue(10000);
+        assertThat(configuration.getExpireAfterWrite()).isPresent();
+        assertThat(configuration.isStatisticsEnabled()).isTrue();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private CaffeineConfiguration<?, ?> configuration(String region) {
+        Cache<Object, Object> cache = cacheManager.getCache(region);
+        return cache.getConfiguration(CaffeineConfiguration.class);
+    }
+    
+    private static CacheManager cacheManager() {
+        ClassLoader classLoader = HibernateCacheConfigTest.class.getClassLoader();
+        try {
+            // The URI Hibernate resolves spring.jpa...javax.cache.uri to
+            return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(classLoader.getResource("hibernate-cache.conf").toURI(), classLoader);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
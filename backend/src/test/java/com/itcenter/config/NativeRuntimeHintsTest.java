@@ -0,0 +1,66 @@
+package com.itcenter.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.RegexPatternTypeFilter;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeRuntimeHintsTest {
+    
+    private final RuntimeHints hints = registerHints();
+    
+    @ParameterizedTest
+    @ValueSource(classes = {Connection.class, Statement.class, PreparedStatement.class,
+                            CallableStatement.class, ResultSet.class})
+    void registersJdbcProxiesForStatementAccounting(Class<?> jdbcType) {
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(jdbcType)).accepts(hints);
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"hibernate-cache.conf", "reference.conf"})
+    void registersConfigurationResources(String resource) {
+        assertThat(RuntimeHintsPredicates.resource().forResource(resource)).accepts(hints);
+    }
+    
+    @Test
+    void registersEveryDto() {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new RegexPatternTypeFilter(Pattern.compile(".*Dto")));
+        
+        Set<BeanDefinition> dtos = scanner.findCandidateComponents("com.itcenter.dto");
+        
+        assertThat(dtos).isNotEmpty();
+        for (BeanDefinition dto : dtos) {
+            assertThat(RuntimeHintsPredicates.reflection().onType(TypeReference.of(dto.getBeanClassName())))
+                .as(dto.getBeanClassName())
+                .accepts(hints);
+        }
+    }
+    
+    @Test
+    void registersGeneratedMapper() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(TypeReference.of("com.itcenter.mapper.UserMapperImpl")))
+            .accepts(hints);
+    }
+    
+    private static RuntimeHints registerHints() {
+        RuntimeHints hints = new RuntimeHints();
+        new NativeRuntimeHints().registerHints(hints, NativeRuntimeHintsTest.class.getClassLoader());
+        return hints;
+    }
+}
@@ -0,0 +1,36 @@
+package com.itcenter.config;
+
+import com.itcenter.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fails when the application takes longer than app.startup.budget-ms to
+ * become ready. Counted from SpringApplication.run, since this JVM has run
+ * other test classes before; its own context is started for this class.
+ */
+@TestPropertySource(properties = "app.startup.measured-from=application")
+class StartupBudgetTest extends PostgresIntegrationTest {
+    
+    @Autowired
+    private StartupReportEndpoint startupReportEndpoint;
+    
+    @Value("${app.startup.budget-ms}")
+    private long budgetMs;
+    
+    @Test
+    void applicationIsReadyWithinTheStartupBudget() {
+        Map<String, Object> report = startupReportEndpoint.report();
+        
+        assertThat(report.get("readyTimeMs")).isNotNull();
+        assertThat((Long) report.get("readyTimeMs"))
+            .as("ready time against the %dms startup budget", budgetMs)
+            .isLessThanOrEqualTo(budgetMs);
+    }
+}
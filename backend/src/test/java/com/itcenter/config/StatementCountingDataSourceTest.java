@@ -0,0 +1,133 @@
+package com.itcenter.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StatementCountingDataSourceTest {
+    
+    private static final String SELECT = "select * from app_users where user_id = ?";
+    private static final String UPDATE = "update app_users set locale = ? where user_id = ?";
+    
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement preparedStatement = mock(PreparedStatement.class);
+    private final Statement statement = mock(Statement.class);
+    private final ResultSet resultSet = mock(ResultSet.class);
+    private DataSource dataSource;
+    
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(connection.createStatement()).thenReturn(statement);
+        dataSource = new StatementCountingDataSource(target);
+        SqlStatementTracker.begin();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        SqlStatementTracker.end();
+    }
+    
+    @Test
+    void countsQueryAndRowsReadFromItsResultSet() throws SQLException {
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, true, false);
+        
+        try (Connection wrapped = dataSource.getConnection();
+             PreparedStatement query = wrapped.prepareStatement(SELECT);
+             ResultSet rows = query.executeQuery()) {
+            while (rows.next()) {
+                // read every row
+            }
+        }
+        
+        SqlStatementTracker.Stats stats = SqlStatementTracker.current();
+        assertThat(stats.getStatements()).isEqualTo(1);
+        assertThat(stats.getRows()).isEqualTo(3);
+        assertThat(stats.getStatementsBySql()).isEqualTo(Map.of(SELECT, 1));
+    }
+    
+    @Test
+    void countsRowsOfResultSetFetchedAfterExecute() throws SQLException {
+        when(statement.execute(SELECT)).thenReturn(true);
+        when(statement.getResultSet()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        
+        try (Connection wrapped = dataSource.getConnection();
+             Statement plain = wrapped.createStatement()) {
+            plain.execute(SELECT);
+            ResultSet rows = plain.getResultSet();
+            while (rows.next()) {
+                // read every row
+            }
+        }
+        
+        SqlStatementTracker.Stats stats = SqlStatementTracker.current();
+        assertThat(stats.getStatements()).isEqualTo(1);
+        assertThat(stats.getRows()).isEqualTo(1);
+    }
+    
+    @Test
+    void countsUpdatedRows() throws SQLException {
+        when(preparedStatement.executeUpdate()).thenReturn(4);
+        when(preparedStatement.executeLargeUpdate()).thenReturn(2L);
+        
+        try (Connection wrapped = dataSource.getConnection();
+             PreparedStatement update = wrapped.prepareStatement(UPDATE)) {
+            update.executeUpdate();
+            update.executeLargeUpdate();
+        }
+        
+        SqlStatementTracker.Stats stats = SqlStatementTracker.current();
+        assertThat(stats.getStatements()).isEqualTo(2);
+        assertThat(stats.getRows()).isEqualTo(6);
+        assertThat(stats.getStatementsBySql()).isEqualTo(Map.of(UPDATE, 2));
+    }
+    
+    @Test
+    void countsBatchAsOneStatementAndSkipsUnknownUpdateCounts() throws SQLException {
+        when(preparedStatement.executeBatch()).thenReturn(new int[] {1, 1, Statement.SUCCESS_NO_INFO, 0});
+        when(preparedStatement.executeLargeBatch()).thenReturn(new long[] {3L, Statement.SUCCESS_NO_INFO});
+        
+        try (Connection wrapped = dataSource.getConnection();
+             PreparedStatement batch = wrapped.prepareStatement(UPDATE)) {
+            batch.addBatch();
+            batch.addBatch();
+            batch.executeBatch();
+            batch.executeLargeBatch();
+        }
+        
+        SqlStatementTracker.Stats stats = SqlStatementTracker.current();
+        assertThat(stats.getStatements()).isEqualTo(2);
+        assertThat(stats.getRows()).isEqualTo(5);
+        assertThat(stats.getStatementsBySql()).isEqualTo(Map.of(UPDATE, 2));
+    }
+    
+    @Test
+    void recordsNothingOutsideAScope() throws SQLException {
+        SqlStatementTracker.end();
+        when(preparedStatement.executeUpdate()).thenReturn(1);
+        
+        try (Connection wrapped = dataSource.getConnection();
+             PreparedStatement update = wrapped.prepareStatement(UPDATE)) {
+            update.executeUpdate();
+        }
+        
+        assertThat(SqlStatementTracker.current()).isNull();
+    }
+}
@@ -0,0 +1,54 @@
+package com.itcenter.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketRateLimiterTest {
+    
+    @Test
+    void limitsKeyOnceCapacityIsUsed() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 1, Duration.ofHours(1), 1000, Duration.ofHours(3));
+        
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("victim@itcenter.com")).isZero();
+        }
+        assertThat(limiter.tryAcquire("victim@itcenter.com")).isPositive();
+    }
+    
+    @Test
+    void floodOfNewKeysDoesNotResetDrainingBucket() {
+        // One bucket per stripe, so every flooding key competes with the victim's stripe
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, Duration.ofHours(1), 64, Duration.ofHours(1));
+        assertThat(limiter.tryAcquire("victim@itcenter.com")).isZero();
+        
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("attacker-" + i + "@example.com");
+        }
+        
+        assertThat(limiter.tryAcquire("victim@itcenter.com")).isPositive();
+        assertThat(limiter.size()).isLessThanOrEqualTo(64);
+    }
+    
+    @Test
+    void newKeyReplacesBucketThatHasRefilled() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, Duration.ofMillis(1), 64, Duration.ofHours(1));
+        for (int i = 0; limiter.size() < 64; i++) {
+            limiter.tryAcquire("user-" + i);
+        }
+        Thread.sleep(20);
+        
+        assertThat(limiter.tryAcquire("newcomer@itcenter.com")).isZero();
+        assertThat(limiter.size()).isEqualTo(64);
+    }
+    
+    @Test
+    void idleTtlMustCoverARefill() {
+        // 5 tokens at 5 per minute: an idle bucket is only full after a minute
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(5, 5, Duration.ofMinutes(1), 1000, Duration.ofSeconds(30)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
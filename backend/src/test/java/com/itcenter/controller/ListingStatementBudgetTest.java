@@ -0,0 +1,142 @@
+package com.itcenter.controller;
+
+import com.itcenter.PostgresIntegrationTest;
+import com.itcenter.config.SqlStatementTracker;
+import com.itcenter.entity.AppUser;
+import com.itcenter.entity.LoginAudit;
+import com.itcenter.entity.Role;
+import com.itcenter.repository.AppUserRepository;
+import com.itcenter.repository.RoleRepository;
+import com.itcenter.service.UserProfileCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets of the main read endpoints.
+ * 
+ * MockMvc runs the request on the test thread, so the statements counted by
+ * StatementCountingDataSource land in the scope opened by
+ * SqlStatementTracker.assertMaxStatements. Servlet filters are left out,
+ * SqlStatementAccountingFilter would otherwise open a scope of its own; the
+ * caller is authenticated through the security context instead.
+ * 
+ * Pages hold more users and audit entries than any budget, so a lazy load
+ * per row shows up as a failure.
+ */
+@AutoConfigureMockMvc(addFilters = false)
+class ListingStatementBudgetTest extends PostgresIntegrationTest {
+    
+    private static final String ADMIN_ID = "statement-budget-admin";
+    private static final int USERS = 25;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private AppUserRepository userRepository;
+    
+    @Autowired
+    private RoleRepository roleRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private UserProfileCache userProfileCache;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @BeforeEach
+    void seedUsersAndSignIn() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (userRepository.existsById(ADMIN_ID)) {
+                return;
+            }
+            Role admin = roleRepository.findByName("ADMIN").orElseGet(() -> roleRepository.save(new Role("ADMIN", "Administrator")));
+            Role staff = roleRepository.findByName("STAFF").orElseGet(() -> roleRepository.save(new Role("STAFF", "Staff member")));
+            
+            // Roles go on the managed copy; save merges a user with an assigned ID
+            AppUser adminUser = userRepository.save(new AppUser(ADMIN_ID, ADMIN_ID + "@itcenter.com", "Statement Budget Admin"));
+            adminUser.addRole(admin);
+            adminUser.addRole(staff);
+            
+            for (int i = 0; i < USERS; i++) {
+                String userId = "statement-budget-" + i;
+                AppUser user = userRepository.saveAndFlush(new AppUser(userId, userId + "@itcenter.com", "Staff " + i));
+                user.addRole(staff);
+                
+                // ip_address is inet, which a String parameter cannot be bound to
+                jdbcTemplate.update("INSERT INTO login_audit (user_id, event_type, success, created_at) VALUES (?, ?, true, ?)",
+                    userId, LoginAudit.EventType.LOGIN, LocalDateTime.now());
+            }
+        });
+        userProfileCache.evict(ADMIN_ID);
+        
+        Jwt jwt = Jwt.withTokenValue("test-token")
+            .header("alg", "none")
+            .subject(ADMIN_ID)
+            .claim("email", ADMIN_ID + "@itcenter.com")
+            .expiresAt(Instant.now().plusSeconds(300))
+            .build();
+        SecurityContextHolder.getContext().setAuthentication(
+            new JwtAuthenticationToken(jwt, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+    }
+    
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+    
+    @Test
+    void currentUserProfileLoadsInBoundedStatementsAndThenFromCache() {
+        // ETag version lookup, then the user with its roles
+        SqlStatementTracker.assertMaxStatements(4, () -> perform("/me"));
+        SqlStatementTracker.assertMaxStatements(0, () -> perform("/me"));
+    }
+    
+    @Test
+    void userPageDoesNotLoadRolesPerUser() {
+        SqlStatementTracker.Stats stats = SqlStatementTracker.assertMaxStatements(4,
+            () -> perform("/admin/users?page=0&size=" + USERS));
+        
+        assertThat(stats.getRepeatedStatements(2)).isEmpty();
+    }
+    
+    @Test
+    void auditLogPageDoesNotLoadUsersPerEntry() {
+        SqlStatementTracker.Stats stats = SqlStatementTracker.assertMaxStatements(3,
+            () -> perform("/admin/audit-log?page=0&size=" + USERS));
+        
+        assertThat(stats.getRepeatedStatements(2)).isEmpty();
+    }
+    
+    private void perform(String uri) {
+        try {
+            mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").exists());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
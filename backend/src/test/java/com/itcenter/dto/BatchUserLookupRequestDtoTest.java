@@ -0,0 +1,47 @@
+package com.itcenter.dto;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchUserLookupRequestDtoTest {
+    
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private final Validator validator = validatorFactory.getValidator();
+    
+    @AfterEach
+    void closeValidatorFactory() {
+        validatorFactory.close();
+    }
+    
+    @Test
+    void acceptsUserIds() {
+        assertThat(validator.validate(new BatchUserLookupRequestDto(List.of("user-1", "user-2")))).isEmpty();
+    }
+    
+    @Test
+    void rejectsMissingOrEmptyList() {
+        assertThat(validator.validate(new BatchUserLookupRequestDto(null))).hasSize(1);
+        assertThat(validator.validate(new BatchUserLookupRequestDto(List.of()))).hasSize(1);
+    }
+    
+    @Test
+    void rejectsNullAndBlankIds() {
+        Set<ConstraintViolation<BatchUserLookupRequestDto>> violations =
+            validator.validate(new BatchUserLookupRequestDto(Arrays.asList("user-1", null, "", " ")));
+        
+        assertThat(violations)
+            .extracting(violation -> violation.getPropertyPath().toString())
+            .containsExactlyInAnyOrder("userIds[1].<list element>", "userIds[2].<list element>",
+                                       "userIds[3].<list element>");
+    }
+}
@@ -0,0 +1,88 @@
+package com.itcenter.repository;
+
+import com.itcenter.PostgresIntegrationTest;
+import com.itcenter.config.SqlStatementTracker;
+import com.itcenter.entity.AppUser;
+import com.itcenter.entity.Role;
+import com.itcenter.entity.UserRole;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Roles, users and their role sets are served from the second-level cache
+ * once loaded: reading them again in a new session executes no SQL.
+ */
+class SecondLevelCacheTest extends PostgresIntegrationTest {
+    
+    private static final String USER_ID = "second-level-cache-user";
+    
+    @Autowired
+    private AppUserRepository userRepository;
+    
+    @Autowired
+    private RoleRepository roleRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private TransactionTemplate transaction;
+    private Long roleId;
+    
+    @BeforeEach
+    void seedUserAndClearCache() {
+        transaction = new TransactionTemplate(transactionManager);
+        roleId = transaction.execute(status -> {
+            Role role = roleRepository.findByName("L2_CACHE_TEST")
+                .orElseGet(() -> roleRepository.save(new Role("L2_CACHE_TEST", "Second-level cache test")));
+            if (!userRepository.existsById(USER_ID)) {
+                // Roles go on the managed copy; save merges a user with an assigned ID
+                AppUser user = userRepository.save(new AppUser(USER_ID, USER_ID + "@itcenter.com", "Cache Test User"));
+                user.addRole(role);
+            }
+            return role.getRoleId();
+        });
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+    
+    @Test
+    void roleIsReadFromCacheOnSecondLoad() {
+        assertThat(loadRoleName()).isEqualTo("L2_CACHE_TEST");
+        
+        SqlStatementTracker.assertMaxStatements(0, () ->
+            assertThat(loadRoleName()).isEqualTo("L2_CACHE_TEST"));
+    }
+    
+    @Test
+    void userAndRoleSetAreReadFromCacheOnSecondLoad() {
+        assertThat(loadUserRoleNames()).containsExactly("L2_CACHE_TEST");
+        
+        SqlStatementTracker.assertMaxStatements(0, () ->
+            assertThat(loadUserRoleNames()).containsExactly("L2_CACHE_TEST"));
+    }
+    
+    private String loadRoleName() {
+        return transaction.execute(status -> roleRepository.findById(roleId).orElseThrow().getName());
+    }
+    
+    private Set<String> loadUserRoleNames() {
+        // Walks AppUser -> userRoles collection -> UserRole -> Role, one cache region each
+        return transaction.execute(status -> userRepository.findById(USER_ID).orElseThrow()
+            .getUserRoles().stream()
+            .map(UserRole::getRole)
+            .map(Role::getName)
+            .collect(Collectors.toSet()));
+    }
+}
@@ -0,0 +1,58 @@
+package com.itcenter.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CredentialVerificationServiceTest {
+    
+    private final List<CredentialVerificationService> services = new ArrayList<>();
+    
+    @AfterEach
+    void shutdown() {
+        services.forEach(CredentialVerificationService::shutdown);
+    }
+    
+    @Test
+    void rehashesWhenCostWasRaised() {
+        String stored = new BCryptPasswordEncoder(5).encode("secret");
+        
+        assertThat(service(6).needsRehash(stored)).isTrue();
+    }
+    
+    @Test
+    void rehashesWhenCostWasLowered() {
+        String stored = new BCryptPasswordEncoder(6).encode("secret");
+        
+        assertThat(service(5).needsRehash(stored)).isTrue();
+    }
+    
+    @Test
+    void keepsHashWithCurrentCost() {
+        CredentialVerificationService service = service(5);
+        String stored = service.hash("secret");
+        
+        assertThat(service.needsRehash(stored)).isFalse();
+        assertThat(service.verify("secret", stored)).isTrue();
+    }
+    
+    @Test
+    void ignoresMissingOrForeignHashes() {
+        CredentialVerificationService service = service(5);
+        
+        assertThat(service.needsRehash(null)).isFalse();
+        assertThat(service.needsRehash("{noop}secret")).isFalse();
+    }
+    
+    private CredentialVerificationService service(int strength) {
+        CredentialVerificationService service = new CredentialVerificationService(new SimpleMeterRegistry(), strength, 1, 10, 5000);
+        services.add(service);
+        return service;
+    }
+}
@@ -0,0 +1,36 @@
+package com.itcenter.service;
+
+import com.itcenter.dto.LoginRequestDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class LocalIdentityProviderTest {
+    
+    private final CredentialVerificationService credentials =
+        spy(new CredentialVerificationService(new SimpleMeterRegistry(), 4, 1, 10, 5000));
+    private final LocalIdentityProvider provider = new LocalIdentityProvider(
+        credentials, "http://localhost:8080/auth/stub", "local-client", 3600, "123456", "");
+    
+    @AfterEach
+    void shutdown() {
+        credentials.shutdown();
+    }
+    
+    @Test
+    void unknownEmailCostsAHashLikeAWrongPassword() {
+        assertThatThrownBy(() -> provider.login(new LoginRequestDto("nobody@itcenter.com", "guess")))
+            .hasMessage("Invalid email or password");
+        assertThatThrownBy(() -> provider.login(new LoginRequestDto("admin@itcenter.com", "guess")))
+            .hasMessage("Invalid email or password");
+        
+        verify(credentials, times(2)).verify(eq("guess"), startsWith("$2a$04$"));
+    }
+}
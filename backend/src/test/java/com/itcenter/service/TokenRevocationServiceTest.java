@@ -0,0 +1,45 @@
+package com.itcenter.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationServiceTest {
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void revocationsStayDurableAfterCompactionFails() throws Exception {
+        Path journal = dir.resolve("revoked-tokens.log");
+        TokenRevocationService service = service(journal);
+        service.loadJournal();
+        
+        // The compacted file cannot be written, as on a full disk
+        Files.createDirectory(dir.resolve("revoked-tokens.log.tmp"));
+        service.purgeExpired();
+        
+        service.revokeToken("token-1", Instant.now().plusSeconds(300));
+        service.revokeAllForUser("user-1");
+        service.close();
+        
+        Files.delete(dir.resolve("revoked-tokens.log.tmp"));
+        TokenRevocationService restarted = service(journal);
+        restarted.loadJournal();
+        try {
+            assertThat(restarted.isRevoked("token-1", null, null)).isTrue();
+            assertThat(restarted.isRevoked("other", "user-1", Instant.now().minusSeconds(60))).isTrue();
+        } finally {
+            restarted.close();
+        }
+    }
+    
+    private static TokenRevocationService service(Path journal) {
+        return new TokenRevocationService(journal.toString(), 1000, 0.001, 86400);
+    }
+}
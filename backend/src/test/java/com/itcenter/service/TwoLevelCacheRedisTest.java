@@ -0,0 +1,155 @@
+package com.itcenter.service;
+
+import com.itcenter.dto.UserProfileDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TwoLevelCache against a real Redis, with two caches standing in for two
+ * nodes. Outages are simulated by pausing the container, so commands time
+ * out as they would on a network partition. Skipped where Docker is not
+ * available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class TwoLevelCacheRedisTest {
+    
+    private static final long RETRY_AFTER_FAILURE_MS = 200;
+    
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7").withExposedPorts(6379);
+    
+    private LettuceConnectionFactory connectionFactory;
+    private TwoLevelCache<UserProfileDto> node1;
+    private TwoLevelCache<UserProfileDto> node2;
+    
+    @BeforeEach
+    void connect() {
+        RedisStandaloneConfiguration server = new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379));
+        LettuceClientConfiguration client = LettuceClientConfiguration.builder()
+            .commandTimeout(Duration.ofMillis(500))
+            .build();
+        connectionFactory = new LettuceConnectionFactory(server, client);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+        
+        node1 = cache();
+        node2 = cache();
+    }
+    
+    @AfterEach
+    void disconnect() {
+        connectionFactory.destroy();
+    }
+    
+    @Test
+    void otherNodeReadsTheSharedTier() {
+        node1.put("user-1", profile("user-1", "STAFF"), Duration.ofMinutes(1));
+        
+        assertThat(node2.get("user-1")).usingRecursiveComparison().isEqualTo(profile("user-1", "STAFF"));
+        assertThat(node2.getAll(List.of("user-1", "user-2"))).containsOnlyKeys("user-1");
+    }
+    
+    @Test
+    void nearTierServesWhileRedisIsDown() {
+        node1.put("user-1", profile("user-1", "STAFF"), Duration.ofMinutes(1));
+        
+        pauseRedis();
+        try {
+            assertThat(node1.get("user-1")).isNotNull();
+            assertThat(node1.get("user-2")).isNull();
+            assertThat(node1.getAll(List.of("user-1", "user-2"))).containsOnlyKeys("user-1");
+            node1.put("user-3", profile("user-3", "STAFF"), Duration.ofMinutes(1));
+            assertThat(node1.get("user-3")).isNotNull();
+        } finally {
+            unpauseRedis();
+        }
+    }
+    
+    @Test
+    void evictionDuringAnOutageIsAppliedOnceRedisIsBack() throws InterruptedException {
+        node1.put("user-1", profile("user-1", "STAFF"), Duration.ofMinutes(1));
+        
+        pauseRedis();
+        try {
+            // e.g. an admin revoked the role while Redis was unreachable
+            node1.evict("user-1");
+            assertThat(node1.get("user-1")).isNull();
+        } finally {
+            unpauseRedis();
+        }
+        
+        // Until the DEL has been retried the stale entry is not read back
+        assertThat(node1.get("user-1")).isNull();
+        
+        Thread.sleep(RETRY_AFTER_FAILURE_MS * 2);
+        assertThat(node1.get("user-1")).isNull();
+        assertThat(redisKeyExists("user-1")).isFalse();
+        assertThat(node2.get("user-1")).isNull();
+    }
+    
+    @Test
+    void evictionDuringTheCoolDownReachesRedis() {
+        node1.put("user-1", profile("user-1", "STAFF"), Duration.ofMinutes(1));
+        pauseRedis();
+        try {
+            node1.get("user-2");
+        } finally {
+            unpauseRedis();
+        }
+        
+        node1.evict("user-1");
+        
+        assertThat(redisKeyExists("user-1")).isFalse();
+        assertThat(node2.get("user-1")).isNull();
+    }
+    
+    private TwoLevelCache<UserProfileDto> cache() {
+        return new TwoLevelCache<>("user-profiles", 100, connectionFactory, new UserProfileCodec(),
+            RETRY_AFTER_FAILURE_MS, new SimpleMeterRegistry());
+    }
+    
+    private boolean redisKeyExists(String key) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            return Boolean.TRUE.equals(connection.keyCommands()
+                .exists(("itcenter:user-profiles:" + key).getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+    
+    private static void pauseRedis() {
+        DockerClientFactory.instance().client().pauseContainerCmd(REDIS.getContainerId()).exec();
+    }
+    
+    private static void unpauseRedis() {
+        DockerClientFactory.instance().client().unpauseContainerCmd(REDIS.getContainerId()).exec();
+    }
+    
+    private static UserProfileDto profile(String userId, String role) {
+        UserProfileDto profile = new UserProfileDto();
+        profile.setUserId(userId);
+        profile.setEmail(userId + "@itcenter.com");
+        profile.setDisplayName(userId);
+        profile.setLocale("en-US");
+        profile.setRoles(Set.of(role));
+        return profile;
+    }
+}
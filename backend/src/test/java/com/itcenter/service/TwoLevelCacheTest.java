@@ -0,0 +1,130 @@
+package com.itcenter.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Eviction while Redis fails, against a mocked connection; see
+ * TwoLevelCacheRedisTest for the same against a real Redis
+ */
+class TwoLevelCacheTest {
+    
+    private static final byte[] KEY = "itcenter:test:user-1".getBytes(StandardCharsets.UTF_8);
+    
+    private final RedisConnectionFactory redis = mock(RedisConnectionFactory.class);
+    private final RedisConnection connection = mock(RedisConnection.class);
+    private final RedisKeyCommands keyCommands = mock(RedisKeyCommands.class);
+    private final RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    @BeforeEach
+    void connect() {
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+    }
+    
+    @Test
+    void evictionIsAttemptedDuringTheCoolDown() {
+        TwoLevelCache<String> cache = cache(60_000);
+        doThrow(new RedisConnectionFailureException("down")).when(redis).getConnection();
+        cache.get("other");
+        
+        // Redis is back within the cool-down
+        doReturn(connection).when(redis).getConnection();
+        when(keyCommands.del(KEY)).thenReturn(1L);
+        cache.evict("user-1");
+        
+        verify(keyCommands).del(KEY);
+    }
+    
+    @Test
+    void failedEvictionIsRetriedBeforeRedisIsUsedAgain() {
+        TwoLevelCache<String> cache = cache(60_000);
+        doThrow(new RedisConnectionFailureException("down")).when(redis).getConnection();
+        cache.evict("user-1");
+        assertThat(meterRegistry.get("cache.redis.pending.evictions").gauge().value()).isEqualTo(1);
+        
+        doReturn(connection).when(redis).getConnection();
+        when(keyCommands.del(KEY)).thenReturn(1L);
+        cache.evict("user-2");
+        when(keyCommands.del(any(byte[][].class))).thenReturn(1L);
+        // The DEL above ended the cool-down; the next operation first retries the failed one
+        cache.put("user-3", "fresh", Duration.ofMinutes(1));
+        
+        verify(keyCommands).del(new byte[][] {KEY});
+        assertThat(meterRegistry.get("cache.redis.pending.evictions").gauge().value()).isZero();
+    }
+    
+    @Test
+    void keyWithPendingEvictionIsNotReadFromRedis() {
+        TwoLevelCache<String> cache = cache(0);
+        doThrow(new RedisConnectionFailureException("down")).when(redis).getConnection();
+        cache.evict("user-1");
+        
+        // Reads work again but the DEL keeps failing, so the stale value must stay unread
+        doReturn(connection).when(redis).getConnection();
+        when(keyCommands.del(any(byte[][].class))).thenThrow(new RedisConnectionFailureException("down"));
+        
+        assertThat(cache.get("user-1")).isNull();
+        assertThat(cache.getAll(List.of("user-1"))).isEmpty();
+        verify(stringCommands, never()).get(any());
+        verify(stringCommands, never()).mGet(any(byte[][].class));
+    }
+    
+    @Test
+    void successfulWriteClearsThePendingEviction() {
+        TwoLevelCache<String> cache = cache(0);
+        doThrow(new RedisConnectionFailureException("down")).when(redis).getConnection();
+        cache.evict("user-1");
+        
+        doReturn(connection).when(redis).getConnection();
+        when(keyCommands.del(any(byte[][].class))).thenThrow(new RedisConnectionFailureException("down"));
+        when(stringCommands.set(eq(KEY), any(), any(), any())).thenReturn(true);
+        cache.put("user-1", "fresh", Duration.ofMinutes(1));
+        cache.evictLocal("user-1");
+        cache.get("user-1");
+        
+        assertThat(meterRegistry.get("cache.redis.pending.evictions").gauge().value()).isZero();
+        verify(stringCommands).get(KEY);
+    }
+    
+    private TwoLevelCache<String> cache(long retryAfterFailureMs) {
+        return new TwoLevelCache<>("test", 100, redis, new StringCodec(), retryAfterFailureMs, meterRegistry);
+    }
+    
+    private static class StringCodec implements CacheCodec<String> {
+    
+        @Override
+        public void write(String value, DataOutputStream out) throws IOException {
+            out.writeUTF(value);
+        }
+        
+        @Override
+        public String read(DataInputStream in) throws IOException {
+            return in.readUTF();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.itcenter.service;
+
+import com.itcenter.dto.PageResponseDto;
+import com.itcenter.dto.UserManagementDto;
+import com.itcenter.dto.UserOverviewDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserOverviewServiceTest {
+    
+    private static final String USER_ID = "user-1";
+    
+    private final UserService userService = mock(UserService.class);
+    private final AuditService auditService = mock(AuditService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final UserOverviewService overviewService = new UserOverviewService(
+        userService, auditService, new SimpleMeterRegistry(), transactionManager, 500, 10, 5);
+    
+    @AfterEach
+    void shutdown() {
+        overviewService.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+    
+    @Test
+    void latePartIsLeftOutWithoutBeingInterrupted() throws Exception {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(userService.getUserById(USER_ID)).thenReturn(new UserManagementDto());
+        when(auditService.getUserAuditLogs(eq(USER_ID), any())).thenReturn(new PageResponseDto<>());
+        when(auditService.getRecentLogins(USER_ID, 5)).thenReturn(List.of());
+        
+        CompletableFuture<Boolean> slowPartInterrupted = new CompletableFuture<>();
+        when(auditService.hasSuspiciousActivity(USER_ID)).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(1500);
+                slowPartInterrupted.complete(false);
+            } catch (InterruptedException e) {
+                slowPartInterrupted.complete(true);
+            }
+            return false;
+        });
+        
+        UserOverviewDto overview = overviewService.getUserOverview(USER_ID);
+        
+        assertThat(overview.getUser()).isNotNull();
+        assertThat(overview.getMissing()).containsExactly("suspiciousActivity");
+        assertThat(slowPartInterrupted.get(3, TimeUnit.SECONDS)).isFalse();
+    }
+    
+    @Test
+    void partsRunInReadOnlyTransactionsBoundByTheDeadline() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(userService.getUserById(USER_ID)).thenReturn(new UserManagementDto());
+        
+        overviewService.getUserOverview(USER_ID);
+        
+        verify(transactionManager, atLeastOnce()).getTransaction(argThat(definition ->
+            definition.isReadOnly() && definition.getTimeout() == 1));
+    }
+    
+    @Test
+    void partsRunAsTheCaller() throws Exception {
+        Authentication admin = new TestingAuthenticationToken("admin-1", null, "ROLE_ADMIN");
+        SecurityContextHolder.getContext().setAuthentication(admin);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        CompletableFuture<Authentication> partAuthentication = new CompletableFuture<>();
+        when(userService.getUserById(USER_ID)).thenAnswer(invocation -> {
+            // ReadYourWritesGuard keys on this to keep a recent writer on the primary
+            partAuthentication.complete(SecurityContextHolder.getContext().getAuthentication());
+            return new UserManagementDto();
+        });
+        
+        overviewService.getUserOverview(USER_ID);
+        
+        assertThat(partAuthentication.get(1, TimeUnit.SECONDS)).isSameAs(admin);
+    }
+}
@@ -0,0 +1,75 @@
+package com.itcenter.service;
+
+import com.itcenter.dto.UserProfileDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserProfileCodecTest {
+    
+    private final UserProfileCodec codec = new UserProfileCodec();
+    
+    @Test
+    void roundTripsEveryField() throws IOException {
+        UserProfileDto profile = new UserProfileDto();
+        profile.setUserId("user-1");
+        profile.setEmail("jane.doe@itcenter.com");
+        profile.setDisplayName("Jane Dö");
+        profile.setLocale("en-US");
+        profile.setCreatedAt(LocalDateTime.of(2024, 1, 15, 9, 30, 0, 123_456_789));
+        profile.setUpdatedAt(LocalDateTime.of(2025, 6, 1, 17, 45, 12));
+        profile.setRoles(Set.of("ADMIN", "STAFF"));
+        
+        assertThat(roundTrip(profile)).usingRecursiveComparison().isEqualTo(profile);
+    }
+    
+    @Test
+    void roundTripsMissingValues() throws IOException {
+        UserProfileDto profile = new UserProfileDto();
+        profile.setUserId("user-1");
+        
+        UserProfileDto decoded = roundTrip(profile);
+        
+        assertThat(decoded.getUserId()).isEqualTo("user-1");
+        assertThat(decoded.getEmail()).isNull();
+        assertThat(decoded.getDisplayName()).isNull();
+        assertThat(decoded.getLocale()).isNull();
+        assertThat(decoded.getCreatedAt()).isNull();
+        assertThat(decoded.getUpdatedAt()).isNull();
+        assertThat(decoded.getRoles()).isEmpty();
+    }
+    
+    @Test
+    void rejectsOtherEncodingVersions() throws IOException {
+        byte[] encoded = encode(new UserProfileDto());
+        encoded[0]++;
+        
+        assertThatThrownBy(() -> codec.read(new DataInputStream(new ByteArrayInputStream(encoded))))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("version");
+    }
+    
+    private UserProfileDto roundTrip(UserProfileDto profile) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(encode(profile)));
+        UserProfileDto decoded = codec.read(in);
+        assertThat(in.available()).isZero();
+        return decoded;
+    }
+    
+    private byte[] encode(UserProfileDto profile) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        codec.write(profile, out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+}
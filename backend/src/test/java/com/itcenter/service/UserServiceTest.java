@@ -0,0 +1,87 @@
+package com.itcenter.service;
+
+import com.itcenter.dto.UserProfileDto;
+import com.itcenter.entity.AppUser;
+import com.itcenter.mapper.UserMapper;
+import com.itcenter.repository.AppUserRepository;
+import com.itcenter.repository.LoginAuditRepository;
+import com.itcenter.repository.RoleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+    
+    private static final String USER_ID = "user-1";
+    
+    private final AppUserRepository userRepository = mock(AppUserRepository.class);
+    private final UserMapper userMapper = mock(UserMapper.class);
+    private final UserProfileCache userProfileCache = mock(UserProfileCache.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final UserService userService = new UserService(userRepository, mock(RoleRepository.class),
+        mock(LoginAuditRepository.class), userMapper, mock(AuditService.class), userProfileCache,
+        mock(CacheInvalidationBus.class), mock(RoleStatisticsService.class), mock(DashboardService.class),
+        transactionManager, 100);
+    
+    private final Instant expiresAt = Instant.now().plusSeconds(300);
+    
+    @BeforeEach
+    void authenticate() {
+        Jwt jwt = Jwt.withTokenValue("token")
+            .header("alg", "none")
+            .subject(USER_ID)
+            .issuedAt(Instant.now())
+            .expiresAt(expiresAt)
+            .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt, List.of()));
+    }
+    
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+    
+    @Test
+    void profileIsLoadedFromThePrimaryBeforeItIsCached() {
+        AppUser user = new AppUser();
+        UserProfileDto profile = new UserProfileDto();
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(userMapper.toUserProfileDto(user)).thenReturn(profile);
+        
+        assertThat(userService.getCurrentUserProfile()).isSameAs(profile);
+        
+        // Replicas only serve read-only transactions
+        verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()));
+        verify(transactionManager, never()).getTransaction(argThat(definition -> definition.isReadOnly()));
+        verify(userProfileCache).put(eq(USER_ID), eq(profile), eq(expiresAt));
+    }
+    
+    @Test
+    void cachedProfileOpensNoTransaction() {
+        UserProfileDto profile = new UserProfileDto();
+        when(userProfileCache.getIfPresent(USER_ID)).thenReturn(profile);
+        
+        assertThat(userService.getCurrentUserProfile()).isSameAs(profile);
+        
+        verify(transactionManager, never()).getTransaction(any());
+    }
+}
@@ -0,0 +1,81 @@
+#!/bin/bash
+
+# Benchmark comparing throughput on platform threads and virtual threads
+# with 5,000 concurrent clients whose requests block for a while.
+#
+# Each request hits the identity provider stub, which sleeps on the request
+# thread (IDP_STUB_LATENCY_MS) like a slow Cognito call would. It holds no
+# database connection, so the Hikari pool does not cap either mode and the
+# numbers show what the request threads themselves allow. The concurrency
+# guard's limit (MAX_CONCURRENT_REQUESTS) is raised above the client count so
+# the virtual run measures throughput rather than load shedding.
+# Requires: a built jar (mvn -DskipTests package in backend/), a running
+# database (docker-compose up -d postgres) and `hey` (https://github.com/rakyll/hey).
+
+set -euo pipefail
+
+JAR=${JAR:-backend/target/staff-auth-api-1.0.0.jar}
+PORT=${PORT:-8080}
+CLIENTS=${CLIENTS:-5000}
+MAX_CONCURRENT_REQUESTS=${MAX_CONCURRENT_REQUESTS:-$((CLIENTS + 1000))}
+DURATION=${DURATION:-60s}
+LATENCY_MS=${LATENCY_MS:-200}
+BASE_URL="http://localhost:${PORT}/api/v1"
+ENDPOINT="${BASE_URL}/auth/stub/oauth2/token"
+
+if [ "${CLIENTS}" -ge "${MAX_CONCURRENT_REQUESTS}" ]; then
+  echo "CLIENTS (${CLIENTS}) must stay below MAX_CONCURRENT_REQUESTS (${MAX_CONCURRENT_REQUESTS})"
+  exit 1
+fi
+
+if ! command -v hey > /dev/null; then
+  echo "hey is required: go install github.com/rakyll/hey@latest"
+  exit 1
+fi
+
+# Allow enough file descriptors for the client connections
+ulimit -n 65536 2> /dev/null || echo "Warning: could not raise the open file limit"
+
+run_benchmark() {
+  local mode=$1
+  local profiles=$2
+
+  echo "Starting service with profiles: ${profiles}"
+  MAX_CONCURRENT_REQUESTS=${MAX_CONCURRENT_REQUESTS} IDP_STUB_LATENCY_MS=${LATENCY_MS} java -jar "${JAR}" \
+    --server.port="${PORT}" \
+    --spring.profiles.active="${profiles}" \
+    --logging.level.org.springframework.security=INFO \
+    --logging.level.org.hibernate.SQL=INFO \
+    --logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO \
+    > "benchmark-${mode}.log" 2>&1 &
+  local pid=$!
+
+  echo "Waiting for service to start..."
+  for _ in $(seq 1 60); do
+    if curl -s -o /dev/null "${BASE_URL}/actuator/health"; then
+      break
+    fi
+    sleep 2
+  done
+
+  # Warm up the JIT before measuring
+  hey -z 10s -c 200 -m POST -T "application/x-www-form-urlencoded" \
+    -d "grant_type=authorization_code&code=warmup" "${ENDPOINT}" > /dev/null
+
+  echo "Running ${mode} benchmark: ${CLIENTS} clients for ${DURATION} (${LATENCY_MS}ms per request)"
+  hey -z "${DURATION}" -c "${CLIENTS}" -t 30 -m POST -T "application/x-www-form-urlencoded" \
+    -d "grant_type=authorization_code&code=benchmark" "${ENDPOINT}" | tee "benchmark-${mode}.txt"
+
+  kill "${pid}"
+  wait "${pid}" 2> /dev/null || true
+}
+
+run_benchmark platform "idp-stub"
+run_benchmark virtual "idp-stub,virtual-threads"
+
+echo -e "\nThroughput:"
+for mode in platform virtual; do
+  echo "  ${mode}: $(grep 'Requests/sec' "benchmark-${mode}.txt" | awk '{print $2}') requests/sec"
+done
+echo "Shed requests (virtual): $(grep -c 'Shedding request' benchmark-virtual.log || true)"
+echo "Pinning events (virtual): $(grep -c 'pinned its carrier' benchmark-virtual.log || true)"
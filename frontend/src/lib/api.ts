@@ -40,10 +40,12 @@ export const authApi = {
   updateProfile: (data: any) => api.patch('/me', data),
   getUsers: (params?: any) => api.get('/admin/users', { params }),
   getUser: (userId: string) => api.get(`/admin/users/${userId}`),
+  getUsersByIds: (userIds: string[]) => api.post('/admin/users/batch', { userIds }),
   updateUserRoles: (userId: string, data: any) => api.patch(`/admin/users/${userId}/roles`, data),
   getAuditLogs: (params?: any) => api.get('/admin/audit-log', { params }),
   getUserAuditLogs: (userId: string, params?: any) => api.get(`/admin/audit-log/user/${userId}`, { params }),
   getRecentLogins: (userId: string, limit = 10) => api.get(`/admin/audit-log/recent/${userId}?limit=${limit}`),
+  getDashboard: () => api.get('/admin/dashboard'),
   healthCheck: () => api.get('/healthz'),
 };
 
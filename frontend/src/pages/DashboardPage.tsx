@@ -1,38 +1,52 @@
 import React from 'react'
+import { useQuery } from 'react-query'
 import { useAuth } from '../contexts/AuthContext'
+import { authApi } from '../lib/api'
 import { Card, CardContent, CardDescription, CardHeader, CardTitle } from '../components/ui/card'
 import { Users, FileText, Shield, Activity } from 'lucide-react'
 
 export function DashboardPage() {
   const { user, hasRole } = useAuth()
 
+  // One request for every figure, answered from server-side in-memory aggregates
+  const { data: dashboard } = useQuery(
+    ['dashboard'],
+    () => authApi.getDashboard().then(response => response.data),
+    {
+      enabled: hasRole('ADMIN'),
+      refetchInterval: 60000,
+    }
+  )
+
+  const format = (value?: number) => value === undefined ? '—' : value.toLocaleString()
+
   const stats = [
     {
       title: 'Total Users',
-      value: '1,234',
+      value: format(dashboard?.totalUsers),
       description: 'Active staff members',
       icon: Users,
       color: 'text-blue-600'
     },
     {
       title: 'Admin Users',
-      value: '12',
+      value: format(dashboard ? (dashboard.usersByRole?.ADMIN ?? 0) : undefined),
       description: 'Users with admin privileges',
       icon: Shield,
       color: 'text-purple-600'
     },
     {
-      title: 'Audit Events',
-      value: '5,678',
-      description: 'Events logged this month',
-      icon: FileText,
+      title: 'Logins',
+      value: format(dashboard?.loginsLastDay),
+      description: dashboard ? `${format(dashboard.loginsLastHour)} in the last hour` : 'Last 24 hours',
+      icon: Activity,
       color: 'text-green-600'
     },
     {
-      title: 'Active Sessions',
-      value: '89',
-      description: 'Currently logged in users',
-      icon: Activity,
+      title: 'Failed Logins',
+      value: format(dashboard?.failuresLastDay),
+      description: dashboard ? `${format(dashboard.failuresLastHour)} in the last hour` : 'Last 24 hours',
+      icon: FileText,
       color: 'text-orange-600'
     }
   ]
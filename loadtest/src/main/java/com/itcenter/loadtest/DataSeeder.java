@@ -0,0 +1,158 @@
+package com.itcenter.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HexFormat;
+
+/**
+ * Seeds users, roles and audit rows with set-based generate_series inserts.
+ * 
+ * Seeding is incremental: only the rows missing up to the requested volume
+ * are added, so a 100M row dataset is built once and reused across runs.
+ * User ids are derived from the user number so tokens can be minted for any
+ * seeded user without reading the database.
+ */
+public final class DataSeeder {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DataSeeder.class);
+    
+    static final String EMAIL_DOMAIN = "@loadtest.itcenter.com";
+    static final String USER_AGENT = "loadtest-agent";
+    
+    private static final String USER_ID_SQL = "uuid_in(md5('loadtest-' || %s)::cstring)::text";
+    
+    private final Connection connection;
+    private final int batchSize;
+    
+    public DataSeeder(Connection connection, int batchSize) {
+        this.connection = connection;
+        this.batchSize = batchSize;
+    }
+    
+    /**
+     * User id of seeded user number n (1-based), matching the SQL expression used for seeding
+     */
+    public static String userId(long n) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(("loadtest-" + n).getBytes(StandardCharsets.UTF_8));
+            String hex = HexFormat.of().formatHex(digest);
+            return hex.substring(0, 8) + "-" + hex.substring(8, 12) + "-" + hex.substring(12, 16)
+                + "-" + hex.substring(16, 20) + "-" + hex.substring(20);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+    
+    public static String email(long n) {
+        return "loadtest-" + n + EMAIL_DOMAIN;
+    }
+    
+    /**
+     * Create the schema if it does not exist yet (throwaway databases only)
+     */
+    public void createSchema() throws SQLException {
+        try (InputStream in = DataSeeder.class.getResourceAsStream("/schema.sql");
+             Statement statement = connection.createStatement()) {
+            if (in == null) {
+                throw new IllegalStateException("schema.sql not found on the classpath");
+            }
+            statement.execute(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read schema.sql", e);
+        }
+    }
+    
+    public void seed(long users, long admins, long auditRows) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            seedRoles();
+            long existingUsers = count("SELECT COUNT(*) FROM app_users WHERE email LIKE '%" + EMAIL_DOMAIN + "'");
+            for (long from = existingUsers + 1; from <= users; from += batchSize) {
+                long to = Math.min(users, from + batchSize - 1);
+                seedUsers(from, to, admins);
+                logger.info("Seeded users {}..{} of {}", from, to, users);
+            }
+            
+            long seededUsers = Math.max(users, existingUsers);
+            long existingAudits = count("SELECT COUNT(*) FROM login_audit WHERE user_agent = '" + USER_AGENT + "'");
+            for (long from = existingAudits + 1; from <= auditRows; from += batchSize) {
+                long to = Math.min(auditRows, from + batchSize - 1);
+                seedAudits(from, to, seededUsers);
+                logger.info("Seeded audit rows {}..{} of {}", from, to, auditRows);
+            }
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE app_users, user_roles, roles, login_audit");
+        }
+    }
+    
+    private void seedRoles() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(
+                "INSERT INTO roles (name, description, created_at, updated_at) VALUES " +
+                "('ADMIN', 'Administrator', now(), now()), ('STAFF', 'Staff member', now(), now()) " +
+                "ON CONFLICT (name) DO NOTHING");
+        }
+        connection.commit();
+    }
+    
+    private void seedUsers(long from, long to, long admins) throws SQLException {
+        String userId = String.format(USER_ID_SQL, "g");
+        execute(
+            "INSERT INTO app_users (user_id, email, display_name, locale, created_at, updated_at) " +
+            "SELECT " + userId + ", 'loadtest-' || g || '" + EMAIL_DOMAIN + "', 'Load Test User ' || g, 'en-US', " +
+            "now() - (g % 730) * interval '1 day', now() - (g % 30) * interval '1 day' " +
+            "FROM generate_series(?::bigint, ?::bigint) g ON CONFLICT DO NOTHING", from, to);
+        execute(
+            "INSERT INTO user_roles (user_id, role_id, assigned_at) " +
+            "SELECT " + userId + ", r.role_id, now() FROM generate_series(?::bigint, ?::bigint) g " +
+            "JOIN roles r ON r.name = CASE WHEN g <= " + admins + " THEN 'ADMIN' ELSE 'STAFF' END " +
+            "ON CONFLICT DO NOTHING", from, to);
+        connection.commit();
+    }
+    
+    private void seedAudits(long from, long to, long users) throws SQLException {
+        // Spread rows over users with a multiplicative hash and over the last year
+        String userId = String.format(USER_ID_SQL, "(1 + (g * 7919) % " + users + ")");
+        execute(
+            "INSERT INTO login_audit (user_id, event_type, ip_address, user_agent, success, failure_reason, session_id, created_at) " +
+            "SELECT " + userId + ", " +
+            "(ARRAY['LOGIN','LOGIN','LOGIN','LOGOUT','LOGIN_FAILED','PROFILE_UPDATED'])[1 + (g % 6)::int], " +
+            "('10.' || (g / 65536) % 256 || '.' || (g / 256) % 256 || '.' || g % 256)::inet, " +
+            "'" + USER_AGENT + "', g % 6 <> 4, CASE WHEN g % 6 = 4 THEN 'Invalid credentials' END, " +
+            "md5(g::text), now() - (g % 525600) * interval '1 minute' " +
+            "FROM generate_series(?::bigint, ?::bigint) g", from, to);
+        connection.commit();
+    }
+    
+    private void execute(String sql, long from, long to) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, from);
+            statement.setLong(2, to);
+            statement.executeUpdate();
+        }
+    }
+    
+    private long count(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
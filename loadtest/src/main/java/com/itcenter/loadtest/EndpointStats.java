@@ -0,0 +1,106 @@
+package com.itcenter.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters for one endpoint
+ */
+public final class EndpointStats {
+    
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(2);
+    
+    private final Recorder recorder = new Recorder(MAX_LATENCY_NANOS, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private volatile Double statementsPerRequest;
+    private volatile Double bytesPerResponse;
+    
+    /**
+     * Record a completed request; latency is measured from its intended start time
+     */
+    public void record(long latencyNanos, int status) {
+        recorder.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+        requests.increment();
+        statusCounts.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (status >= 400) {
+            errors.increment();
+        }
+    }
+    
+    /**
+     * Record a request that failed without a response (timeout, connection error)
+     */
+    public void recordFailure(long latencyNanos) {
+        record(latencyNanos, 0);
+        errors.increment();
+    }
+    
+    /**
+     * Record a request that was not sent because too many were in flight
+     */
+    public void recordDropped() {
+        dropped.increment();
+    }
+    
+    /**
+     * Discard everything recorded so far (end of warm-up)
+     */
+    public void reset() {
+        recorder.reset();
+        requests.reset();
+        errors.reset();
+        dropped.reset();
+        statusCounts.clear();
+    }
+    
+    public void setStatementsPerRequest(double statements) {
+        this.statementsPerRequest = statements;
+    }
+    
+    public void setBytesPerResponse(double bytes) {
+        this.bytesPerResponse = bytes;
+    }
+    
+    public Map<String, Object> report(double durationSeconds) {
+        Histogram histogram = recorder.getIntervalHistogram();
+        long total = requests.sum();
+        long failed = errors.sum() + dropped.sum();
+        
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", millis(histogram.getValueAtPercentile(50)));
+        latency.put("p90", millis(histogram.getValueAtPercentile(90)));
+        latency.put("p99", millis(histogram.getValueAtPercentile(99)));
+        latency.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+        latency.put("max", millis(histogram.getMaxValue()));
+        latency.put("mean", millis((long) histogram.getMean()));
+        
+        Map<String, Long> statuses = new TreeMap<>();
+        statusCounts.forEach((status, count) -> statuses.put(status == 0 ? "no_response" : status.toString(), count.sum()));
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", total);
+        report.put("dropped", dropped.sum());
+        report.put("errors", errors.sum());
+        report.put("errorRate", total + dropped.sum() == 0 ? 0.0 : (double) failed / (total + dropped.sum()));
+        report.put("throughputPerSecond", durationSeconds > 0 ? total / durationSeconds : 0.0);
+        report.put("latencyMs", latency);
+        report.put("statusCodes", statuses);
+        report.put("statementsPerRequest", statementsPerRequest);
+        report.put("bytesPerResponse", bytesPerResponse);
+        return report;
+    }
+    
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,163 @@
+package com.itcenter.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end load test: seed a production-sized dataset, run an open-model
+ * mixed workload against the API and write a JSON report with per-endpoint
+ * latency percentiles, throughput, error rate and SQL statements per request.
+ */
+public final class LoadTest {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.load();
+        Path signingKey = Paths.get(config.get("token.private-key"));
+        boolean containers = "testcontainers".equals(config.get("environment"));
+        
+        TestEnvironment environment = containers ? TestEnvironment.startDatabase(config) : null;
+        try {
+            Map<String, EndpointStats> stats = new LinkedHashMap<>();
+            
+            try (Connection connection = DriverManager.getConnection(
+                    config.get("db.url"), config.get("db.username"), config.get("db.password"))) {
+                DataSeeder seeder = new DataSeeder(connection, config.getInt("seed.batch-size"));
+                if (containers) {
+                    seeder.createSchema();
+                }
+                if (config.getBoolean("seed.enabled")) {
+                    seeder.seed(config.getLong("seed.users"), config.getLong("seed.admins"), config.getLong("seed.audit-rows"));
+                }
+                
+                // Make sure the key exists before the backend is told to trust it
+                TokenSigner.create(signingKey, config.get("token.issuer"), config.get("token.client-id"));
+                if (environment != null) {
+                    environment.startBackend(config, signingKey);
+                }
+                
+                Workload workload = newWorkload(config, signingKey);
+                Map<String, Integer> mix = config.getWeights("workload.mix");
+                for (String scenario : mix.keySet()) {
+                    if (!Workload.SCENARIOS.contains(scenario)) {
+                        throw new IllegalArgumentException("Unknown scenario in workload.mix: " + scenario);
+                    }
+                    stats.put(scenario, new EndpointStats());
+                }
+                
+                HttpClient httpClient = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+                
+                countStatements(config, connection, httpClient, workload, stats);
+                runWorkload(config, httpClient, workload, mix, stats);
+            }
+            
+            writeReport(config, stats);
+        } finally {
+            if (environment != null) {
+                environment.close();
+            }
+        }
+    }
+    
+    private static Workload newWorkload(LoadTestConfig config, Path signingKey) {
+        TokenSigner signer = TokenSigner.create(signingKey, config.get("token.issuer"), config.get("token.client-id"));
+        long admins = config.getLong("seed.admins");
+        int activeUsers = (int) Math.min(config.getInt("token.active-users"), config.getLong("seed.users") - admins);
+        if (admins < 1 || activeUsers < 1) {
+            throw new IllegalArgumentException("Need at least one admin and one staff user to generate tokens");
+        }
+        long tokenTtl = config.getLong("workload.warmup-seconds") + config.getLong("workload.duration-seconds") + 3600;
+        return new Workload(config.get("target.base-url"),
+            Duration.ofSeconds(config.getLong("workload.request-timeout-seconds")),
+            signer, admins, activeUsers, tokenTtl);
+    }
+    
+    /**
+     * Issue requests one endpoint at a time with nothing else running, so
+     * pg_stat_statements deltas can be attributed to a single endpoint
+     */
+    private static void countStatements(LoadTestConfig config, Connection connection, HttpClient httpClient,
+                                        Workload workload, Map<String, EndpointStats> stats)
+            throws SQLException, IOException, InterruptedException {
+        int samples = config.getInt("statements.samples");
+        StatementCounter counter = new StatementCounter(connection);
+        if (samples <= 0 || !counter.isAvailable()) {
+            logger.warn("Skipping statement counts (pg_stat_statements unavailable or statements.samples=0)");
+            return;
+        }
+        
+        Random random = new Random(42);
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            counter.reset();
+            long bytes = 0;
+            for (int i = 0; i < samples; i++) {
+                bytes += httpClient.send(workload.request(entry.getKey(), random), HttpResponse.BodyHandlers.ofByteArray())
+                    .body().length;
+            }
+            double perRequest = (double) counter.count() / samples;
+            double perResponse = (double) bytes / samples;
+            entry.getValue().setStatementsPerRequest(perRequest);
+            entry.getValue().setBytesPerResponse(perResponse);
+            logger.info("{}: {} statements per request, {} bytes per response", entry.getKey(),
+                String.format("%.1f", perRequest), String.format("%.0f", perResponse));
+        }
+    }
+    
+    private static void runWorkload(LoadTestConfig config, HttpClient httpClient, Workload workload,
+                                    Map<String, Integer> mix, Map<String, EndpointStats> stats)
+            throws InterruptedException {
+        double rate = Double.parseDouble(config.get("workload.rate-per-second"));
+        OpenModelDriver driver = new OpenModelDriver(httpClient, workload, mix, stats, config.getInt("workload.max-in-flight"));
+        
+        long warmup = config.getLong("workload.warmup-seconds");
+        if (warmup > 0) {
+            logger.info("Warming up for {}s at {} req/s", warmup, rate);
+            driver.run(rate, Duration.ofSeconds(warmup));
+            stats.values().forEach(EndpointStats::reset);
+        }
+        
+        long duration = config.getLong("workload.duration-seconds");
+        logger.info("Measuring for {}s at {} req/s", duration, rate);
+        driver.run(rate, Duration.ofSeconds(duration));
+    }
+    
+    private static void writeReport(LoadTestConfig config, Map<String, EndpointStats> stats) throws IOException {
+        double duration = config.getLong("workload.duration-seconds");
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        stats.forEach((name, endpoint) -> endpoints.put(name, endpoint.report(duration)));
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("settings", config.describe());
+        report.put("endpoints", endpoints);
+        
+        Path file = Paths.get(config.get("report.file"));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        logger.info("Wrote load test report to {}", file.toAbsolutePath());
+    }
+}
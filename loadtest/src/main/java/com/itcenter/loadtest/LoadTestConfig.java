@@ -0,0 +1,105 @@
+package com.itcenter.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Load test settings: classpath defaults, then an optional file given by
+ * -Dloadtest.config, then individual -D overrides for known keys.
+ */
+public final class LoadTestConfig {
+    
+    private final Properties properties;
+    
+    private LoadTestConfig(Properties properties) {
+        this.properties = properties;
+    }
+    
+    public static LoadTestConfig load() {
+        Properties properties = new Properties();
+        try (InputStream defaults = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            if (defaults == null) {
+                throw new IllegalStateException("loadtest.properties not found on the classpath");
+            }
+            properties.load(defaults);
+            
+            String file = System.getProperty("loadtest.config");
+            if (file != null) {
+                try (Reader reader = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read load test configuration", e);
+        }
+        
+        for (String key : properties.stringPropertyNames()) {
+            String override = System.getProperty(key);
+            if (override != null) {
+                properties.setProperty(key, override);
+            }
+        }
+        return new LoadTestConfig(properties);
+    }
+    
+    public String get(String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing load test setting: " + key);
+        }
+        return value.trim();
+    }
+    
+    public void set(String key, String value) {
+        properties.setProperty(key, value);
+    }
+    
+    public int getInt(String key) {
+        return Integer.parseInt(get(key));
+    }
+    
+    public long getLong(String key) {
+        return Long.parseLong(get(key));
+    }
+    
+    public boolean getBoolean(String key) {
+        return Boolean.parseBoolean(get(key));
+    }
+    
+    /**
+     * Parse "name:weight,name:weight" into an ordered map
+     */
+    public Map<String, Integer> getWeights(String key) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : get(key).split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid weight '" + entry + "' in " + key);
+            }
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+    
+    /**
+     * Settings for the report, without credentials
+     */
+    public Map<String, String> describe() {
+        Map<String, String> settings = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.contains("password")) {
+                settings.put(key, properties.getProperty(key));
+            }
+        }
+        return settings;
+    }
+}
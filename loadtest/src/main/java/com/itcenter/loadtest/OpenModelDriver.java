@@ -0,0 +1,97 @@
+package com.itcenter.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests start at a fixed arrival rate no matter
+ * how slowly the service responds.
+ * 
+ * Latency is measured from each request's intended start time, so queueing
+ * inside the generator is charged to the service instead of hidden
+ * (coordinated omission). Requests beyond max-in-flight are counted as
+ * dropped rather than delayed.
+ */
+public final class OpenModelDriver {
+    
+    private final HttpClient httpClient;
+    private final Workload workload;
+    private final Map<String, EndpointStats> stats;
+    private final String[] scenarios;
+    private final int[] cumulativeWeights;
+    private final int maxInFlight;
+    
+    public OpenModelDriver(HttpClient httpClient, Workload workload, Map<String, Integer> mix,
+                           Map<String, EndpointStats> stats, int maxInFlight) {
+        this.httpClient = httpClient;
+        this.workload = workload;
+        this.stats = stats;
+        this.maxInFlight = maxInFlight;
+        this.scenarios = mix.keySet().toArray(new String[0]);
+        this.cumulativeWeights = new int[scenarios.length];
+        int total = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            total += mix.get(scenarios[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+    
+    /**
+     * Issue requests at the given rate for the given duration, then wait for stragglers
+     */
+    public void run(double ratePerSecond, Duration duration) throws InterruptedException {
+        Random random = new Random();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            
+            String scenario = pick(random);
+            EndpointStats endpoint = stats.get(scenario);
+            if (!inFlight.tryAcquire()) {
+                endpoint.recordDropped();
+                continue;
+            }
+            httpClient.sendAsync(workload.request(scenario, random), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - intended;
+                    inFlight.release();
+                    if (error != null) {
+                        endpoint.recordFailure(latency);
+                    } else {
+                        endpoint.record(latency, response.statusCode());
+                    }
+                });
+        }
+        
+        if (inFlight.tryAcquire(maxInFlight, 2, TimeUnit.MINUTES)) {
+            inFlight.release(maxInFlight);
+        }
+    }
+    
+    private String pick(Random random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return scenarios[i];
+            }
+        }
+        return scenarios[scenarios.length - 1];
+    }
+}
@@ -0,0 +1,63 @@
+package com.itcenter.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts SQL statements executed by the backend using pg_stat_statements.
+ * 
+ * The extension counts statements per database, not per request, so
+ * endpoints are measured one at a time with no other load running.
+ */
+public final class StatementCounter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StatementCounter.class);
+    
+    private static final String COUNT_SQL =
+        "SELECT COALESCE(SUM(calls), 0) FROM pg_stat_statements " +
+        "WHERE dbid = (SELECT oid FROM pg_database WHERE datname = current_database()) " +
+        "AND query NOT ILIKE '%pg_stat_statements%'";
+    
+    private final Connection connection;
+    private final boolean available;
+    
+    public StatementCounter(Connection connection) {
+        this.connection = connection;
+        this.available = detect();
+    }
+    
+    public boolean isAvailable() {
+        return available;
+    }
+    
+    public void reset() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT pg_stat_statements_reset()");
+        }
+    }
+    
+    public long count() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(COUNT_SQL)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+    
+    private boolean detect() {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pg_stat_statements");
+            count();
+            return true;
+        } catch (SQLException e) {
+            // Requires shared_preload_libraries = 'pg_stat_statements' on the server
+            logger.warn("pg_stat_statements unavailable, statement counts will be omitted: {}", e.getMessage());
+            return false;
+        }
+    }
+}
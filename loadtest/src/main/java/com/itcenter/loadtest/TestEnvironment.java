@@ -0,0 +1,132 @@
+package com.itcenter.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throwaway environment: Postgres in a container with pg_stat_statements
+ * loaded, and the backend jar launched against it with the local identity
+ * provider trusting the load test signing key.
+ */
+public final class TestEnvironment implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TestEnvironment.class);
+    
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    
+    private final PostgreSQLContainer<?> postgres;
+    private Process backend;
+    
+    private TestEnvironment(PostgreSQLContainer<?> postgres) {
+        this.postgres = postgres;
+    }
+    
+    /**
+     * Start Postgres and point the database settings at it
+     */
+    public static TestEnvironment startDatabase(LoadTestConfig config) {
+        PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("itcenter_auth")
+            .withUsername("itcenter")
+            .withPassword("password")
+            .withCommand("postgres", "-c", "shared_preload_libraries=pg_stat_statements", "-c", "max_connections=200");
+        postgres.start();
+        
+        config.set("db.url", postgres.getJdbcUrl());
+        config.set("db.username", postgres.getUsername());
+        config.set("db.password", postgres.getPassword());
+        logger.info("Started Postgres at {}", postgres.getJdbcUrl());
+        return new TestEnvironment(postgres);
+    }
+    
+    /**
+     * Launch the backend jar and wait until it reports healthy.
+     * The schema must exist first because Hibernate only validates it.
+     */
+    public void startBackend(LoadTestConfig config, Path signingKey) throws InterruptedException {
+        Path jar = Paths.get(config.get("backend.jar")).toAbsolutePath();
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Backend jar not found: " + jar + " (run mvn -f backend package first)");
+        }
+        int port = config.getInt("backend.port");
+        String baseUrl = "http://localhost:" + port + "/api/v1";
+        
+        ProcessBuilder builder = new ProcessBuilder(List.of(
+            Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+            "-jar", jar.toString(),
+            "--server.port=" + port))
+            .redirectErrorStream(true)
+            .redirectOutput(Paths.get("target", "backend.log").toFile());
+        Map<String, String> env = builder.environment();
+        env.put("SPRING_PROFILES_ACTIVE", "local-idp");
+        env.put("LOCAL_IDP_PRIVATE_KEY", signingKey.toAbsolutePath().toString());
+        env.put("SPRING_DATASOURCE_URL", config.get("db.url"));
+        env.put("DB_USERNAME", config.get("db.username"));
+        env.put("DB_PASSWORD", config.get("db.password"));
+        
+        try {
+            Files.createDirectories(Paths.get("target"));
+            backend = builder.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to launch backend", e);
+        }
+        waitUntilHealthy(baseUrl);
+        
+        config.set("target.base-url", baseUrl);
+        config.set("token.issuer", baseUrl + "/auth/local");
+        logger.info("Backend is up at {} (log: target/backend.log)", baseUrl);
+    }
+    
+    private void waitUntilHealthy(String baseUrl) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/healthz"))
+            .timeout(Duration.ofSeconds(5))
+            .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!backend.isAlive()) {
+                throw new IllegalStateException("Backend exited with " + backend.exitValue() + ", see target/backend.log");
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(1000);
+        }
+        throw new IllegalStateException("Backend did not become healthy within " + STARTUP_TIMEOUT);
+    }
+    
+    @Override
+    public void close() {
+        if (backend != null) {
+            backend.destroy();
+            try {
+                if (!backend.waitFor(30, TimeUnit.SECONDS)) {
+                    backend.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                backend.destroyForcibly();
+            }
+        }
+        postgres.stop();
+    }
+}
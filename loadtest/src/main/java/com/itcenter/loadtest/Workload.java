@@ -0,0 +1,92 @@
+package com.itcenter.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Requests making up the mixed read/write workload, addressed by scenario name
+ */
+public final class Workload {
+    
+    public static final Set<String> SCENARIOS = Set.of(
+        "me", "admin-users", "admin-users-sparse", "admin-audit-log", "admin-audit-log-sparse",
+        "update-profile", "update-roles");
+    
+    private static final int PAGE_SIZE = 20;
+    private static final int MAX_PAGE = 50;
+    private static final String SPARSE_USER_FIELDS = "userId,email,displayName";
+    private static final String SPARSE_AUDIT_FIELDS = "id,eventType,success,createdAt";
+    
+    private final String baseUrl;
+    private final Duration timeout;
+    private final long admins;
+    private final List<String> staffTokens = new ArrayList<>();
+    private final List<String> adminTokens = new ArrayList<>();
+    private final int activeUsers;
+    
+    public Workload(String baseUrl, Duration timeout, TokenSigner signer, long admins, int activeUsers, long tokenTtlSeconds) {
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.admins = admins;
+        this.activeUsers = activeUsers;
+        
+        for (long n = 1; n <= admins; n++) {
+            adminTokens.add(signer.accessToken(DataSeeder.userId(n), DataSeeder.email(n), "Load Test User " + n,
+                List.of("ADMIN"), tokenTtlSeconds));
+        }
+        for (long n = admins + 1; n <= admins + activeUsers; n++) {
+            staffTokens.add(signer.accessToken(DataSeeder.userId(n), DataSeeder.email(n), "Load Test User " + n,
+                List.of("STAFF"), tokenTtlSeconds));
+        }
+    }
+    
+    public HttpRequest request(String scenario, Random random) {
+        return switch (scenario) {
+            case "me" -> get("/me", staffToken(random));
+            case "admin-users" -> get("/admin/users?page=" + random.nextInt(MAX_PAGE) + "&size=" + PAGE_SIZE,
+                adminToken(random));
+            case "admin-users-sparse" -> get("/admin/users?page=" + random.nextInt(MAX_PAGE) + "&size=" + PAGE_SIZE
+                + "&fields=" + SPARSE_USER_FIELDS, adminToken(random));
+            case "admin-audit-log" -> get("/admin/audit-log?page=" + random.nextInt(MAX_PAGE) + "&size=" + PAGE_SIZE,
+                adminToken(random));
+            case "admin-audit-log-sparse" -> get("/admin/audit-log?page=" + random.nextInt(MAX_PAGE) + "&size=" + PAGE_SIZE
+                + "&fields=" + SPARSE_AUDIT_FIELDS, adminToken(random));
+            case "update-profile" -> patch("/me",
+                "{\"displayName\":\"Load Test User " + random.nextInt(1_000_000) + "\"}", staffToken(random));
+            case "update-roles" -> patch("/admin/users/" + DataSeeder.userId(admins + 1 + random.nextInt(activeUsers)) + "/roles",
+                "{\"roles\":[\"STAFF\"]}", adminToken(random));
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        };
+    }
+    
+    private String staffToken(Random random) {
+        return staffTokens.get(random.nextInt(staffTokens.size()));
+    }
+    
+    private String adminToken(Random random) {
+        return adminTokens.get(random.nextInt(adminTokens.size()));
+    }
+    
+    private HttpRequest get(String path, String token) {
+        return builder(path, token).GET().build();
+    }
+    
+    private HttpRequest patch(String path, String json, String token) {
+        return builder(path, token)
+            .header("Content-Type", "application/json")
+            .method("PATCH", HttpRequest.BodyPublishers.ofString(json))
+            .build();
+    }
+    
+    private HttpRequest.Builder builder(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(timeout)
+            .header("Authorization", "Bearer " + token)
+            .header("Accept", "application/json");
+    }
+}
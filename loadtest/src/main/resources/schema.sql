@@ -0,0 +1,43 @@
+-- Schema matching the backend JPA mappings, for throwaway load-test databases.
+-- Existing tables are left untouched.
+
+CREATE TABLE IF NOT EXISTS app_users (
+    user_id      VARCHAR(255) PRIMARY KEY,
+    email        VARCHAR(255) NOT NULL UNIQUE,
+    display_name VARCHAR(255) NOT NULL,
+    locale       VARCHAR(10),
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS roles (
+    role_id     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(255),
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id     VARCHAR(255) NOT NULL REFERENCES app_users (user_id),
+    role_id     BIGINT NOT NULL REFERENCES roles (role_id),
+    assigned_at TIMESTAMP(6) NOT NULL,
+    UNIQUE (user_id, role_id)
+);
+
+CREATE TABLE IF NOT EXISTS login_audit (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id        VARCHAR(255) NOT NULL REFERENCES app_users (user_id),
+    event_type     VARCHAR(255) NOT NULL,
+    ip_address     INET,
+    user_agent     VARCHAR(255),
+    success        BOOLEAN,
+    failure_reason VARCHAR(255),
+    session_id     VARCHAR(255),
+    created_at     TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_login_audit_user_created ON login_audit (user_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_login_audit_created ON login_audit (created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_login_audit_event_created ON login_audit (event_type, created_at DESC);